@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+#
+# Counts the INSERT round trips and time one upload costs, per number
+# of signers.
+#
+# Needs a running backend, psql access to its database, and the
+# pg_stat_statements extension:
+#
+#   postgresql.conf:  shared_preload_libraries = 'pg_stat_statements'
+#   psql:             CREATE EXTENSION IF NOT EXISTS pg_stat_statements;
+#
+# Usage:
+#   PDF=sample.pdf ./measure-upload-inserts.sh [signer counts...]
+#
+# Environment:
+#   API      backend base URL       (default http://localhost:8080)
+#   PDF      file to upload         (required)
+#   PGHOST, PGPORT, PGUSER, PGDATABASE, PGPASSWORD as usual for psql
+#            (PGDATABASE defaults to signature_app_db)
+#
+# Run it once on a build before the sequence change and once after.
+# "calls" is the number of statements the driver sent. With IDENTITY
+# keys it grows with the signer count (one INSERT per row). With
+# pooled sequences and reWriteBatchedInserts it stays at a few
+# multi-row INSERTs per table. Sequence fetches show up as nextval
+# calls, one per 50 IDs.
+#
+# The audit rows are written behind by the flusher thread, so they
+# are left out here.
+
+set -euo pipefail
+
+API=${API:-http://localhost:8080}
+PDF=${PDF:?set PDF to the file to upload}
+export PGDATABASE=${PGDATABASE:-signature_app_db}
+
+COUNTS=("$@")
+if [ ${#COUNTS[@]} -eq 0 ]; then
+    COUNTS=(1 5 20 50)
+fi
+
+EMAIL="bench-$(date +%s)@example.com"
+PASSWORD="bench-password"
+
+curl -sf -X POST "$API/api/auth/register" \
+    -H 'Content-Type: application/json' \
+    -d "{\"name\":\"Bench\",\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" >/dev/null
+
+TOKEN=$(curl -sf -X POST "$API/api/auth/login" \
+    -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" \
+    | sed -n 's/.*"token" *: *"\([^"]*\)".*/\1/p')
+
+signers() {
+    local n=$1 list=""
+    for i in $(seq 1 "$n"); do
+        list="$list${list:+,}signer$i@example.com"
+    done
+    echo "$list"
+}
+
+# Warm-up: first requests pay for class loading and pool setup
+curl -sf -X POST "$API/api/documents/upload?fileName=warmup.pdf&signers=$(signers 1)" \
+    -H "Authorization: Bearer $TOKEN" \
+    -H 'Content-Type: application/pdf' \
+    --data-binary "@$PDF" >/dev/null
+
+for n in "${COUNTS[@]}"; do
+
+    psql -qAt -c "SELECT pg_stat_statements_reset()" >/dev/null
+
+    ms=$(curl -sf -o /dev/null -w '%{time_total}' \
+        -X POST "$API/api/documents/upload?fileName=bench-$n.pdf&signers=$(signers "$n")" \
+        -H "Authorization: Bearer $TOKEN" \
+        -H 'Content-Type: application/pdf' \
+        --data-binary "@$PDF" | awk '{ printf "%.0f", $1 * 1000 }')
+
+    echo "== $n signers: ${ms} ms"
+
+    psql -q -P pager=off -c "
+        SELECT CASE
+                 WHEN query ILIKE 'insert into %'
+                   THEN substring(query from '(?i)insert into ([a-z_]+)')
+                 ELSE 'nextval'
+               END       AS target,
+               SUM(calls) AS calls,
+               SUM(rows)  AS rows
+        FROM pg_stat_statements
+        WHERE dbid = (SELECT oid FROM pg_database WHERE datname = current_database())
+          AND (query ILIKE 'insert into %' OR query ILIKE '%nextval%')
+          AND query NOT ILIKE '%audit_logs%'
+        GROUP BY 1
+        ORDER BY 1"
+done
@@ -0,0 +1,435 @@
+package com.signatureapp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind audit log.
+ *
+ * append() writes the event to a local journal file and hands it
+ * to a bounded queue; it never touches the database. One flusher
+ * thread inserts queued events with a single multi-row INSERT per
+ * batch (every {@code audit.batch-size} events or
+ * {@code audit.flush-interval-ms}, whichever comes first).
+ *
+ *  - Full queue: append() blocks until the flusher catches up
+ *    (backpressure, nothing is dropped).
+ *  - Database down: the flusher retries; events stay queued and
+ *    journaled.
+ *  - Crash: the journal is replayed on the next start. Inserts
+ *    skip event IDs that are already stored. The flusher forces
+ *    the journal to disk before storing each batch (and every
+ *    flush interval while it waits to retry), so a process crash
+ *    loses nothing, and an OS crash or power loss loses at most
+ *    the events appended within about one
+ *    {@code audit.flush-interval-ms}.
+ *
+ * On start the old journal is set aside as {@code <journal>.replay}
+ * and the flusher streams it into the table, batch by batch, before
+ * it takes queued events; startup itself never waits for the
+ * database. The replay file is deleted once everything in it is
+ * stored.
+ *
+ * The journal is truncated whenever everything appended so far
+ * has been stored.
+ */
+@Slf4j
+@Component
+@DependsOn("auditPartitions")
+@RequiredArgsConstructor
+public class AuditAppender {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${audit.journal:${user.home}/signature-app-audit/journal.ndjson}")
+    private String journalPath;
+
+    private BlockingQueue<AuditEvent> queue;
+    private FileChannel journal;
+    private Thread flusher;
+    private volatile boolean running;
+
+    /** Guarded by journalLock. */
+    private final Object journalLock = new Object();
+    private long appended;
+    private long stored;
+
+    /* =========================================================
+       STARTUP: SET ASIDE OLD JOURNAL, OPEN NEW ONE, START FLUSHER
+    ========================================================= */
+
+    @PostConstruct
+    void start() throws IOException {
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("audit.queue.size", queue::size)
+                .description("Audit events waiting to be stored")
+                .register(meterRegistry);
+
+        Path path = Paths.get(journalPath);
+        Files.createDirectories(path.getParent());
+
+        setAsideForReplay(path);
+
+        journal = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    private Path replayPath() {
+        return Paths.get(journalPath + ".replay");
+    }
+
+    /**
+     * Moves the journal to the replay file. If an earlier replay did
+     * not finish, the journal is added to the end of that one.
+     */
+    private void setAsideForReplay(Path path) throws IOException {
+
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return;
+        }
+
+        Path replay = replayPath();
+
+        if (!Files.exists(replay)) {
+            Files.move(path, replay, StandardCopyOption.ATOMIC_MOVE);
+            return;
+        }
+
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(replay,
+                     StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+            target.force(false);
+        }
+
+        Files.delete(path);
+    }
+
+    /* =========================================================
+       APPEND (REQUEST THREADS)
+    ========================================================= */
+
+    public void append(AuditEvent event) {
+
+        try {
+            byte[] line = (objectMapper.writeValueAsString(event) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+
+            synchronized (journalLock) {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+                appended++;
+            }
+
+        } catch (IOException e) {
+            // Still recorded once the flusher stores it
+            log.warn("Audit journal write failed: {}", e.getMessage());
+            synchronized (journalLock) {
+                appended++;
+            }
+        }
+
+        enqueue(event);
+    }
+
+    private void enqueue(AuditEvent event) {
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing audit event", e);
+        }
+    }
+
+    /* =========================================================
+       FLUSHER
+    ========================================================= */
+
+    private void flushLoop() {
+
+        try {
+            replay();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+
+        // After shutdown starts, keeps going until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                if (storeWithRetry(batch)) {
+                    checkpoint(batch.size());
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Streams the replay file into the table. Events appended
+     * meanwhile wait in the queue. If shutdown starts first, the
+     * file is kept and replayed again on the next start.
+     */
+    private void replay() throws InterruptedException {
+
+        Path replay = replayPath();
+
+        if (!Files.exists(replay)) {
+            return;
+        }
+
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long replayed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                } catch (IOException e) {
+                    // torn last line of a crash: the event never committed
+                    log.warn("Skipping unreadable audit journal line");
+                    continue;
+                }
+
+                if (batch.size() == batchSize) {
+                    if (!storeWithRetry(batch)) {
+                        return;
+                    }
+                    replayed += batch.size();
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                if (!storeWithRetry(batch)) {
+                    return;
+                }
+                replayed += batch.size();
+            }
+
+        } catch (IOException e) {
+            log.error("Audit journal replay failed, kept in {}: {}", replay, e.getMessage());
+            return;
+        }
+
+        try {
+            Files.delete(replay);
+        } catch (IOException e) {
+            log.warn("Could not delete replayed audit journal: {}", e.getMessage());
+        }
+
+        log.info("Replayed {} audit events from the journal", replayed);
+    }
+
+    /**
+     * Keeps trying until the batch is stored or shutdown starts;
+     * returns whether it was stored. Rows a constraint rejects are
+     * skipped one by one.
+     */
+    private boolean storeWithRetry(List<AuditEvent> batch) throws InterruptedException {
+
+        long backoff = flushIntervalMillis;
+
+        while (true) {
+            try {
+                syncJournal();
+
+                try {
+                    store(batch);
+                } catch (DataIntegrityViolationException e) {
+                    // Not transient: store the rest row by row, report the bad ones
+                    storeOneByOne(batch);
+                }
+
+                return true;
+
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Audit flush failed at shutdown, {} events kept in journal",
+                            batch.size());
+                    return false;
+                }
+                log.warn("Audit flush failed, retrying: {}", e.getMessage());
+
+                // Keep syncing what is appended meanwhile
+                for (long waited = 0; waited < backoff; waited += flushIntervalMillis) {
+                    Thread.sleep(Math.min(flushIntervalMillis, backoff - waited));
+                    syncJournal();
+                }
+                backoff = Math.min(backoff * 2, 30_000);
+            }
+        }
+    }
+
+    private void storeOneByOne(List<AuditEvent> batch) {
+
+        for (AuditEvent event : batch) {
+            try {
+                store(List.of(event));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Audit event {} rejected: {}", event, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One INSERT for the whole batch. Events of documents deleted
+     * in the meantime are skipped (their log went with them), as
+     * are events already stored before a crash.
+     */
+    private void store(List<AuditEvent> batch) {
+
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO audit_logs
+                    (id, event_id, document_id, action, performed_by, ip_address, performed_at)
+                SELECT nextval('audit_logs_seq'), v.event_id, v.document_id,
+                       v.action, v.performed_by, v.ip_address, v.performed_at
+                FROM (VALUES
+                """);
+
+        List<Object> args = new ArrayList<>(batch.size() * 6);
+
+        for (int i = 0; i < batch.size(); i++) {
+
+            AuditEvent event = batch.get(i);
+
+            sql.append(i == 0 ? "    " : ",   ")
+                    .append("(CAST(? AS varchar), CAST(? AS bigint), CAST(? AS varchar),")
+                    .append(" CAST(? AS varchar), CAST(? AS varchar), CAST(? AS timestamp))\n");
+
+            args.add(event.eventId());
+            args.add(event.documentId());
+            args.add(event.action().name());
+            args.add(event.performedBy());
+            args.add(event.ipAddress());
+            args.add(Timestamp.valueOf(event.performedAt()));
+        }
+
+        sql.append("""
+                ) AS v(event_id, document_id, action, performed_by, ip_address, performed_at)
+                WHERE EXISTS (SELECT 1 FROM documents d WHERE d.id = v.document_id)
+                ON CONFLICT (event_id, performed_at) DO NOTHING
+                """);
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Not under journalLock: appends go on while the disk syncs.
+     * Only the flusher calls it, and stop() closes the journal
+     * after the flusher is done.
+     */
+    private void syncJournal() {
+        try {
+            journal.force(false);
+        } catch (IOException e) {
+            log.warn("Audit journal sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void checkpoint(int count) {
+
+        synchronized (journalLock) {
+            stored += count;
+
+            if (stored == appended) {
+                try {
+                    journal.truncate(0);
+                } catch (IOException e) {
+                    log.warn("Audit journal truncate failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /* =========================================================
+       SHUTDOWN: STORE WHAT IS QUEUED
+    ========================================================= */
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+
+        running = false;
+        flusher.join(10_000);
+
+        synchronized (journalLock) {
+            journal.close();
+        }
+    }
+}
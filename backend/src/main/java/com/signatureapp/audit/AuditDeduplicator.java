@@ -0,0 +1,171 @@
+package com.signatureapp.audit;
+
+import com.signatureapp.model.AuditAction;
+import com.signatureapp.storage.Hashing;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time-window de-duplication of audit events.
+ *
+ * An event of a configured action is skipped when the same
+ * (document, action, user) was logged less than
+ * {@code audit.dedup.window-ms} ago.
+ *
+ * Local state is a fixed-size table of slots, each a single long
+ * updated with CAS: the upper 22 bits hold a fingerprint of the
+ * key, the lower 42 bits the epoch millis it was last logged.
+ * Slot index and fingerprint are disjoint bits of a 64-bit hash
+ * (first 8 bytes of the SHA-256 of the key), so two different
+ * keys only match on a full index + fingerprint collision.
+ * Memory never grows; a key whose slot was taken over by another
+ * key is simply logged again.
+ *
+ * With {@code audit.dedup.shared} on, an event that passes the
+ * local check also has to win an upsert on audit_dedup_marks, so
+ * a user bouncing between nodes is still logged once per window.
+ * The upsert commits on its own: callers run after their own
+ * transaction has committed.
+ */
+@Component
+public class AuditDeduplicator {
+
+    private static final int TIME_BITS = 42;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    @Value("${audit.dedup.window-ms:5000}")
+    private long windowMillis;
+
+    @Value("${audit.dedup.actions:DOCUMENT_DOWNLOADED}")
+    private Set<AuditAction> actions;
+
+    /** Rounded up to a power of two. */
+    @Value("${audit.dedup.slots:65536}")
+    private int slotCount;
+
+    @Value("${audit.dedup.shared:false}")
+    private boolean shared;
+
+    private AtomicLongArray slots;
+    private int mask;
+
+    public AuditDeduplicator(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager) {
+
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void init() {
+
+        int size = Integer.highestOneBit(Math.max(slotCount, 2) - 1) << 1;
+
+        slots = new AtomicLongArray(size);
+        mask = size - 1;
+
+        actions = actions.isEmpty()
+                ? EnumSet.noneOf(AuditAction.class)
+                : EnumSet.copyOf(actions);
+    }
+
+    /* =========================================================
+       CHECK + RECORD
+       true = log the event (and it now counts as logged)
+    ========================================================= */
+
+    public boolean shouldLog(Long documentId, AuditAction action, String performedBy) {
+
+        if (!actions.contains(action)) {
+            return true;
+        }
+
+        String key = documentId + "|" + action.name() + "|" + performedBy;
+
+        if (!markLocally(key)) {
+            return false;
+        }
+
+        return !shared || markShared(key);
+    }
+
+    private boolean markLocally(String key) {
+
+        long hash = hash64(key);
+        int index = (int) hash & mask;
+        long fingerprint = hash >>> TIME_BITS;
+
+        long now = System.currentTimeMillis() & TIME_MASK;
+        long next = (fingerprint << TIME_BITS) | now;
+
+        while (true) {
+            long current = slots.get(index);
+
+            if (current >>> TIME_BITS == fingerprint
+                    && now - (current & TIME_MASK) < windowMillis) {
+                return false;
+            }
+
+            if (slots.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Inserts the mark, or moves it forward if it fell out of the
+     * window. No row changed = another node logged it recently.
+     * Database time, so node clocks do not matter.
+     */
+    private boolean markShared(String key) {
+
+        return Boolean.TRUE.equals(requiresNew.execute(status -> jdbcTemplate.update("""
+                INSERT INTO audit_dedup_marks (dedup_key, logged_at)
+                VALUES (?, clock_timestamp())
+                ON CONFLICT (dedup_key) DO UPDATE
+                SET logged_at = EXCLUDED.logged_at
+                WHERE audit_dedup_marks.logged_at
+                      < EXCLUDED.logged_at - make_interval(secs => ?)
+                """, key, windowMillis / 1000.0) > 0));
+    }
+
+    /** First 8 bytes of the SHA-256 of the key. */
+    private static long hash64(String key) {
+        byte[] digest = Hashing.sha256().digest(key.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    /* =========================================================
+       SWEEP SHARED MARKS
+    ========================================================= */
+
+    @Scheduled(fixedDelayString = "${audit.dedup.sweep-interval-ms:60000}")
+    public void sweep() {
+
+        if (!shared) {
+            return;
+        }
+
+        jdbcTemplate.update("""
+                DELETE FROM audit_dedup_marks
+                WHERE logged_at < clock_timestamp() - make_interval(secs => ?)
+                """, windowMillis / 1000.0);
+    }
+}
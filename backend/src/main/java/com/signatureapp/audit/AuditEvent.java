@@ -0,0 +1,21 @@
+package com.signatureapp.audit;
+
+import com.signatureapp.model.AuditAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit record on its way to the audit_logs table.
+ *
+ * eventId makes the insert idempotent, so records replayed from
+ * the journal after a crash are never stored twice.
+ */
+public record AuditEvent(
+        String eventId,
+        Long documentId,
+        AuditAction action,
+        String performedBy,
+        String ipAddress,
+        LocalDateTime performedAt
+) {
+}
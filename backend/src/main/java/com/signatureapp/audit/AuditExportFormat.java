@@ -0,0 +1,43 @@
+package com.signatureapp.audit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Output formats of the audit export.
+ */
+public enum AuditExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    AuditExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static AuditExportFormat parse(String format) {
+
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+
+        try {
+            return valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown export format: " + format);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.signatureapp.audit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streams audit rows of a time range straight from the database
+ * to an output stream.
+ *
+ * The query runs in a read-only transaction (the Postgres driver
+ * only honours the fetch size with auto-commit off), so rows come
+ * in {@code audit.export.fetch-size} at a time over a forward-only
+ * cursor and are written out one by one. Memory use does not
+ * depend on how many rows the range holds.
+ *
+ * A failed write (client gone) ends the statement and the
+ * transaction, which closes the cursor.
+ */
+@Component
+public class AuditExporter {
+
+    private static final String[] COLUMNS = {
+            "id", "event_id", "document_id", "action",
+            "performed_by", "ip_address", "performed_at"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public AuditExporter(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /* =========================================================
+       EXPORT [from, to), OLDEST FIRST
+    ========================================================= */
+
+    public void export(LocalDateTime from,
+                       LocalDateTime to,
+                       AuditExportFormat format,
+                       OutputStream out) throws IOException {
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        RowWriter rows = format == AuditExportFormat.CSV
+                ? new CsvRows(writer)
+                : new NdjsonRows(objectMapper.getFactory().createGenerator(writer));
+
+        rows.start();
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(connection -> {
+
+                        PreparedStatement statement = connection.prepareStatement("""
+                                SELECT id, event_id, document_id, action,
+                                       performed_by, ip_address, performed_at
+                                FROM audit_logs
+                                WHERE performed_at >= ? AND performed_at < ?
+                                ORDER BY performed_at, id
+                                """,
+                                ResultSet.TYPE_FORWARD_ONLY,
+                                ResultSet.CONCUR_READ_ONLY);
+
+                        statement.setFetchSize(fetchSize);
+                        statement.setTimestamp(1, Timestamp.valueOf(from));
+                        statement.setTimestamp(2, Timestamp.valueOf(to));
+
+                        return statement;
+
+                    }, (RowCallbackHandler) rs -> {
+                        try {
+                            rows.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        rows.finish();
+        writer.flush();
+    }
+
+    /* =========================================================
+       FORMATS
+    ========================================================= */
+
+    private interface RowWriter {
+        void start() throws IOException;
+        void write(ResultSet rs) throws SQLException, IOException;
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Text that a spreadsheet would
+     * read as a formula is prefixed with a quote.
+     */
+    private static final class CsvRows implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRows(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+
+            writer.write(rs.getString("id"));
+            writer.write(',');
+            writeText(rs.getString("event_id"));
+            writer.write(',');
+            writer.write(rs.getString("document_id"));
+            writer.write(',');
+            writeText(rs.getString("action"));
+            writer.write(',');
+            writeText(rs.getString("performed_by"));
+            writer.write(',');
+            writeText(rs.getString("ip_address"));
+            writer.write(',');
+            writer.write(rs.getTimestamp("performed_at").toLocalDateTime().toString());
+            writer.write("\r\n");
+        }
+
+        private void writeText(String value) throws IOException {
+
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+
+            if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() {
+            // nothing after the last row
+        }
+    }
+
+    /**
+     * One JSON object per line.
+     */
+    private static final class NdjsonRows implements RowWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonRows(JsonGenerator json) {
+            this.json = json;
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+            // no header
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeStringField("event_id", rs.getString("event_id"));
+            json.writeNumberField("document_id", rs.getLong("document_id"));
+            json.writeStringField("action", rs.getString("action"));
+            json.writeStringField("performed_by", rs.getString("performed_by"));
+            json.writeStringField("ip_address", rs.getString("ip_address"));
+            json.writeStringField("performed_at",
+                    rs.getTimestamp("performed_at").toLocalDateTime().toString());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.signatureapp.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Storage layout of audit_logs.
+ *
+ *  - audit_logs is range-partitioned by month on performed_at
+ *    (audit_logs_y2026m01, ...). A plain table left by the schema
+ *    update is converted once, at start, before the appender runs.
+ *  - Partitions are created {@code audit.partitions.months-ahead}
+ *    months in advance. Rows outside every month (late replays
+ *    into archived months, far-off clocks) land in
+ *    audit_logs_default instead of being rejected; they move to
+ *    their month's partition when it is created.
+ *  - audit_daily_counts keeps per day, document, action and user
+ *    counts, so reports never read raw rows. How far it goes is
+ *    kept in audit_rollup_state (one row), not derived from the
+ *    counts, so days without events still move it forward.
+ *  - Partitions older than {@code audit.partitions.retention-months}
+ *    are detached (left as plain tables to archive) or dropped, but
+ *    only once their days are rolled up. Archived tables hold no
+ *    foreign key to documents, so documents with archived audit
+ *    rows can still be deleted (their archived rows stay).
+ *
+ * Nodes take a Postgres advisory lock, so only one of them does
+ * the work at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditPartitions {
+
+    private static final long LOCK_KEY = 7_041_982_337L;
+
+    private static final DateTimeFormatter PARTITION_NAME =
+            DateTimeFormatter.ofPattern("'audit_logs_y'yyyy'm'MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Not used directly: the schema update must run first. */
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${audit.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${audit.partitions.drop-expired:false}")
+    private boolean dropExpired;
+
+    @Value("${audit.rollup.max-days-per-run:31}")
+    private int maxRollupDays;
+
+    /* =========================================================
+       STARTUP: CONVERT + CREATE AHEAD
+    ========================================================= */
+
+    @PostConstruct
+    void init() {
+
+        transactionTemplate.executeWithoutResult(status -> {
+
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+
+            if (!isPartitioned()) {
+                convert();
+            }
+
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS audit_daily_counts (
+                        day          date         NOT NULL,
+                        document_id  bigint       NOT NULL,
+                        action       varchar(50)  NOT NULL,
+                        performed_by varchar(150) NOT NULL,
+                        event_count  bigint       NOT NULL,
+                        PRIMARY KEY (day, document_id, action, performed_by)
+                    )
+                    """);
+
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS audit_rollup_state (
+                        id           int  PRIMARY KEY CHECK (id = 1),
+                        rolled_up_to date NOT NULL
+                    )
+                    """);
+
+            createDefaultPartition();
+
+            // History pages; also serves lookups by document alone
+            jdbcTemplate.execute("""
+                    CREATE INDEX IF NOT EXISTS idx_audit_document_time
+                        ON audit_logs (document_id, performed_at DESC, id DESC)
+                    """);
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_audit_document");
+
+            createAhead();
+        });
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT COALESCE(
+                    (SELECT relkind = 'p' FROM pg_class
+                     WHERE oid = to_regclass('audit_logs')), false)
+                """, Boolean.class));
+    }
+
+    /**
+     * One-off: rebuilds audit_logs as a partitioned table and
+     * copies the rows over, in the startup transaction. Unique
+     * keys of a partitioned table must contain performed_at.
+     */
+    private void convert() {
+
+        LocalDate oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(performed_at)::date FROM audit_logs", LocalDate.class);
+
+        jdbcTemplate.execute("ALTER TABLE audit_logs RENAME TO audit_logs_unpartitioned");
+
+        jdbcTemplate.execute("""
+                CREATE TABLE audit_logs
+                    (LIKE audit_logs_unpartitioned INCLUDING DEFAULTS)
+                    PARTITION BY RANGE (performed_at)
+                """);
+
+        createDefaultPartition();
+
+        YearMonth month = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        for (; !month.isAfter(YearMonth.now().plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+
+        int copied = jdbcTemplate.update(
+                "INSERT INTO audit_logs SELECT * FROM audit_logs_unpartitioned");
+
+        jdbcTemplate.execute("DROP TABLE audit_logs_unpartitioned");
+
+        jdbcTemplate.execute("""
+                ALTER TABLE audit_logs
+                    ADD CONSTRAINT audit_logs_pkey PRIMARY KEY (id, performed_at),
+                    ADD CONSTRAINT uk_audit_event UNIQUE (event_id, performed_at),
+                    ADD CONSTRAINT fk_audit_document
+                        FOREIGN KEY (document_id) REFERENCES documents (id)
+                """);
+
+        jdbcTemplate.execute(
+                "CREATE INDEX idx_audit_performed_at ON audit_logs (performed_at)");
+
+        log.info("Partitioned audit_logs by month ({} rows copied)", copied);
+    }
+
+    /* =========================================================
+       MAINTENANCE
+       Create ahead, roll up, then expire what is rolled up.
+    ========================================================= */
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${audit.partitions.maintenance-interval-ms:3600000}")
+    public void maintain() {
+
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LOCK_KEY);
+
+        if (!Boolean.TRUE.equals(locked)) {
+            return; // another node is on it
+        }
+
+        createAhead();
+        LocalDate rolledUpTo = rollUp();
+        expire(rolledUpTo);
+    }
+
+    private void createAhead() {
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(YearMonth.now().plusMonths(i));
+        }
+    }
+
+    private void createDefaultPartition() {
+        jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT");
+    }
+
+    /**
+     * Rows of the month already sitting in the default partition
+     * would make a plain CREATE ... PARTITION OF fail, so they are
+     * moved into the new table before it is attached.
+     */
+    private void createPartition(YearMonth month) {
+
+        String name = PARTITION_NAME.format(month);
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, name))) {
+            return;
+        }
+
+        boolean stray = Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT to_regclass('audit_logs_default') IS NOT NULL
+                   AND EXISTS (SELECT 1 FROM audit_logs_default
+                               WHERE performed_at >= ? AND performed_at < ?)
+                """, Boolean.class, start.atStartOfDay(), end.atStartOfDay()));
+
+        if (!stray) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE %s PARTITION OF audit_logs
+                    FOR VALUES FROM ('%s') TO ('%s')
+                    """.formatted(name, start, end));
+            return;
+        }
+
+        jdbcTemplate.execute(
+                "CREATE TABLE " + name + " (LIKE audit_logs INCLUDING DEFAULTS)");
+
+        int moved = jdbcTemplate.update("""
+                WITH moved AS (
+                    DELETE FROM audit_logs_default
+                    WHERE performed_at >= ? AND performed_at < ?
+                    RETURNING *
+                )
+                INSERT INTO %s SELECT * FROM moved
+                """.formatted(name), start.atStartOfDay(), end.atStartOfDay());
+
+        jdbcTemplate.execute("""
+                ALTER TABLE audit_logs ATTACH PARTITION %s
+                FOR VALUES FROM ('%s') TO ('%s')
+                """.formatted(name, start, end));
+
+        log.info("Created audit partition {} with {} rows from the default partition", name, moved);
+    }
+
+    /* =========================================================
+       DAILY ROLLUP
+       Whole days only, up to yesterday, from the stored
+       watermark. The last rolled day is counted again, for
+       events that reached the table late (write-behind,
+       journal replay).
+       Returns the first day not rolled up yet.
+    ========================================================= */
+
+    private LocalDate rollUp() {
+
+        LocalDate today = LocalDate.now();
+
+        LocalDate watermark = jdbcTemplate.queryForList(
+                "SELECT rolled_up_to FROM audit_rollup_state WHERE id = 1", LocalDate.class)
+                .stream().findFirst().orElse(null);
+
+        LocalDate next = watermark != null
+                ? watermark
+                : jdbcTemplate.queryForObject(
+                        "SELECT MIN(performed_at)::date FROM audit_logs", LocalDate.class);
+
+        if (next == null) {
+            return today; // nothing logged yet
+        }
+
+        LocalDate from = watermark != null ? watermark.minusDays(1) : next;
+
+        LocalDate to = next.plusDays(maxRollupDays);
+        if (to.isAfter(today)) {
+            to = today;
+        }
+
+        if (!from.isBefore(to)) {
+            return next;
+        }
+
+        jdbcTemplate.update("""
+                INSERT INTO audit_daily_counts
+                    (day, document_id, action, performed_by, event_count)
+                SELECT performed_at::date, document_id, action, performed_by, COUNT(*)
+                FROM audit_logs
+                WHERE performed_at >= ? AND performed_at < ?
+                GROUP BY 1, 2, 3, 4
+                ON CONFLICT (day, document_id, action, performed_by)
+                DO UPDATE SET event_count = EXCLUDED.event_count
+                """, from.atStartOfDay(), to.atStartOfDay());
+
+        LocalDate rolledUpTo = to.isAfter(next) ? to : next;
+
+        jdbcTemplate.update("""
+                INSERT INTO audit_rollup_state (id, rolled_up_to) VALUES (1, ?)
+                ON CONFLICT (id) DO UPDATE SET rolled_up_to = EXCLUDED.rolled_up_to
+                """, rolledUpTo);
+
+        return rolledUpTo;
+    }
+
+    /* =========================================================
+       RETENTION
+    ========================================================= */
+
+    private void expire(LocalDate rolledUpTo) {
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'audit_logs'::regclass
+                """, String.class);
+
+        for (String name : partitions) {
+
+            YearMonth month;
+            try {
+                month = YearMonth.parse(name, PARTITION_NAME);
+            } catch (DateTimeParseException e) {
+                continue; // not one of ours
+            }
+
+            if (!month.isBefore(oldestKept)
+                    || month.plusMonths(1).atDay(1).isAfter(rolledUpTo)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + name);
+            dropForeignKeys(name);
+
+            if (dropExpired) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                log.info("Dropped audit partition {}", name);
+            } else {
+                log.info("Detached audit partition {} (kept for archiving)", name);
+            }
+        }
+    }
+
+    /**
+     * A detached partition keeps its copy of fk_audit_document as
+     * a plain constraint, which would stop those documents from
+     * ever being deleted. Archives reference nothing.
+     */
+    private void dropForeignKeys(String table) {
+
+        List<String> constraints = jdbcTemplate.queryForList("""
+                SELECT conname FROM pg_constraint
+                WHERE conrelid = to_regclass(?) AND contype = 'f'
+                """, String.class, table);
+
+        for (String constraint : constraints) {
+            jdbcTemplate.execute(
+                    "ALTER TABLE " + table + " DROP CONSTRAINT \"" + constraint + "\"");
+        }
+    }
+}
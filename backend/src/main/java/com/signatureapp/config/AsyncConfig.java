@@ -0,0 +1,81 @@
+package com.signatureapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /* =========================================================
+       SIGN JOB WORKERS
+       Fixed pool + bounded queue. When the queue is full the job
+       simply stays QUEUED in the database and the poller hands it
+       out later, so nothing is lost and the node is not flooded.
+    ========================================================= */
+    @Bean
+    public ThreadPoolTaskExecutor signingExecutor(
+            @Value("${signing.jobs.workers:4}") int workers,
+            @Value("${signing.jobs.queue-capacity:100}") int queueCapacity
+    ) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sign-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        return executor;
+    }
+
+    /* =========================================================
+       BATCH SIGNING STAMPERS
+       Bounds how many PDFs are open at once. When all threads
+       are busy the request thread stamps the next document
+       itself, which slows the batch down instead of queueing
+       an unbounded number of open documents.
+    ========================================================= */
+    @Bean
+    public ThreadPoolTaskExecutor batchSigningExecutor(
+            @Value("${signing.batch.workers:4}") int workers
+    ) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("batch-sign-");
+
+        return executor;
+    }
+
+    /* =========================================================
+       PREVIEW RENDERERS
+       Page rasterizing is CPU and memory heavy, so it gets its
+       own small pool; a full queue drops background work rather
+       than piling it up.
+    ========================================================= */
+    @Bean
+    public ThreadPoolTaskExecutor previewExecutor(
+            @Value("${preview.workers:2}") int workers,
+            @Value("${preview.queue-capacity:50}") int queueCapacity
+    ) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("preview-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+
+        return executor;
+    }
+}
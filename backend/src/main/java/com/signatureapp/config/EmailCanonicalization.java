@@ -0,0 +1,38 @@
+package com.signatureapp.config;
+
+import com.signatureapp.repository.DocumentSignerRepository;
+import com.signatureapp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rewrites emails stored before canonical storage to their
+ * trimmed lower-case form, once per start. Changes nothing once
+ * every row is canonical.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailCanonicalization {
+
+    private final UserRepository userRepository;
+    private final DocumentSignerRepository documentSignerRepository;
+
+    @Order(1)
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void canonicalize() {
+
+        int users = userRepository.canonicalizeEmails();
+        int signers = documentSignerRepository.canonicalizeEmails();
+
+        if (users + signers > 0) {
+            log.info("Canonicalized {} user and {} signer emails", users, signers);
+        }
+    }
+}
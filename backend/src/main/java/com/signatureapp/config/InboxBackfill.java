@@ -0,0 +1,38 @@
+package com.signatureapp.config;
+
+import com.signatureapp.repository.InboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Adds inbox rows for documents created before the inbox existed,
+ * once per start. Runs after email canonicalization so rows are
+ * keyed by canonical emails. Changes nothing once every document
+ * has its rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InboxBackfill {
+
+    private final InboxRepository inboxRepository;
+
+    @Order(2)
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+
+        int added = inboxRepository.backfill(LocalDateTime.now());
+
+        if (added > 0) {
+            log.info("Backfilled {} inbox rows", added);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.signatureapp.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the ID sequences of tables that used IDENTITY columns
+ * past their existing rows, before any request can insert.
+ *
+ * Hibernate creates the sequences starting at 1; on a database
+ * with older rows they would hand out IDs already taken. Runs once
+ * the schema update is done (the entity manager factory exists)
+ * and never moves a sequence backwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenceAlignment {
+
+    /** Must match the allocationSize of the entities' generators. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String[][] SEQUENCES = {
+            {"document_signers_seq", "document_signers"},
+            {"audit_logs_seq", "audit_logs"},
+            {"document_pages_seq", "document_pages"},
+            {"user_document_inbox_seq", "user_document_inbox"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+
+        for (String[] sequence : SEQUENCES) {
+
+            String name = sequence[0];
+            String table = sequence[1];
+
+            jdbcTemplate.queryForObject("""
+                    SELECT setval('%1$s', GREATEST(
+                        (SELECT COALESCE(MAX(id), 0) FROM %2$s) + %3$d,
+                        (SELECT last_value FROM %1$s)))
+                    """.formatted(name, table, ALLOCATION_SIZE), Long.class);
+        }
+
+        log.debug("ID sequences aligned with existing rows");
+    }
+}
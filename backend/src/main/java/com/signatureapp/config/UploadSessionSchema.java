@@ -0,0 +1,28 @@
+package com.signatureapp.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the status check Hibernate generated when it created
+ * upload_sessions. It lists the enum values of that time and the
+ * schema update never widens it, so FAILED would be rejected.
+ * Runs once the schema update is done (the entity manager
+ * factory exists); a no-op afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadSessionSchema {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void dropStatusCheck() {
+        jdbcTemplate.execute(
+                "ALTER TABLE upload_sessions DROP CONSTRAINT IF EXISTS upload_sessions_status_check");
+    }
+}
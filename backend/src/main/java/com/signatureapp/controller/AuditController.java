@@ -1,11 +1,18 @@
 package com.signatureapp.controller;
 
-import com.signatureapp.dto.AuditResponse;
+import com.signatureapp.audit.AuditExportFormat;
+import com.signatureapp.dto.AuditHistoryResponse;
 import com.signatureapp.service.AuditService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/audit")
@@ -16,13 +23,55 @@ public class AuditController {
     private final AuditService auditService;
 
     /* =========================================================
-       GET AUDIT HISTORY (WITH PAGINATION)
+       GET AUTHENTICATED USER EMAIL
+    ========================================================= */
+    private String getUserEmail() {
+        return SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getName();
+    }
+
+    /* =========================================================
+       GET AUDIT HISTORY
+       GET /api/audit/{documentId}?after=&limit=
+       Keyset pages, latest first; follow nextCursor
     ========================================================= */
     @GetMapping("/{documentId}")
-    public Page<AuditResponse> getAuditHistory(
+    public AuditHistoryResponse getAuditHistory(
             @PathVariable Long documentId,
-            Pageable pageable) {
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+
+        return auditService.getAuditHistory(documentId, after, limit);
+    }
+
+    /* =========================================================
+       EXPORT AUDIT ROWS
+       GET /api/audit/export?from=&to=&format=csv|ndjson&gzip=
+       from/to are ISO date-times, to is exclusive.
+       Streamed as it is read; never built in memory.
+    ========================================================= */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAudit(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        AuditExportFormat exportFormat = AuditExportFormat.parse(format);
+
+        StreamingResponseBody body = auditService.exportAudit(
+                from, to, exportFormat, gzip, getUserEmail());
+
+        String fileName = "audit-" + from.toLocalDate() + "-" + to.toLocalDate()
+                + "." + exportFormat.extension() + (gzip ? ".gz" : "");
 
-        return auditService.getAuditHistory(documentId, pageable);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(
+                        gzip ? "application/gzip" : exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
-}
\ No newline at end of file
+}
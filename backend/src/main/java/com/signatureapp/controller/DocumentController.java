@@ -1,18 +1,38 @@
 package com.signatureapp.controller;
 
+import com.signatureapp.dto.BatchSignRequest;
+import com.signatureapp.dto.BatchSignResponse;
 import com.signatureapp.dto.CreateDocumentRequest;
-import com.signatureapp.dto.DocumentResponse;
+import com.signatureapp.dto.DocumentListResponse;
+import com.signatureapp.dto.DocumentPagesResponse;
+import com.signatureapp.dto.DocumentRevisionResponse;
+import com.signatureapp.dto.SignJobResponse;
 import com.signatureapp.dto.SignRequest;
+import com.signatureapp.preview.PreviewKey;
+import com.signatureapp.service.BatchSignService;
+import com.signatureapp.service.DocumentRevisionService;
 import com.signatureapp.service.DocumentService;
+import com.signatureapp.service.PreviewService;
+import com.signatureapp.service.SignJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/documents")
@@ -20,6 +40,11 @@ import java.util.Map;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final SignJobService signJobService;
+    private final PreviewService previewService;
+    private final BatchSignService batchSignService;
+    private final DocumentRevisionService documentRevisionService;
+    private final Validator validator;
 
     /* =========================================================
        GET AUTHENTICATED USER EMAIL
@@ -54,27 +79,88 @@ public class DocumentController {
         );
     }
 
+    /* =========================================================
+       UPLOAD DOCUMENT (STREAMED RAW BODY)
+       POST /upload?fileName=a.pdf&signers=a@x.com,b@x.com
+       Content-Type: application/pdf
+    ========================================================= */
+    @PostMapping(
+            value = "/upload",
+            consumes = {
+                    MediaType.APPLICATION_PDF_VALUE,
+                    MediaType.APPLICATION_OCTET_STREAM_VALUE
+            }
+    )
+    public ResponseEntity<?> uploadDocumentStream(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("signers") List<String> signerEmails,
+            HttpServletRequest servletRequest
+    ) throws IOException {
+
+        // Same rules as the multipart path, checked before any byte is read
+        if (fileName.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fileName is required");
+        }
+
+        Set<ConstraintViolation<CreateDocumentRequest>> violations =
+                validator.validate(new CreateDocumentRequest(signerEmails));
+
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    violations.iterator().next().getMessage());
+        }
+
+        documentService.uploadDocument(
+                servletRequest.getInputStream(),
+                fileName,
+                signerEmails,
+                getUserEmail()
+        );
+
+        return ResponseEntity.ok(
+                Map.of("message", "Document uploaded successfully")
+        );
+    }
+
     /* =========================================================
        LIST USER DOCUMENTS
+       GET /api/documents?cursor=&limit=&status=
+       Keyset pages, newest first; follow nextCursor
     ========================================================= */
     @GetMapping
-    public ResponseEntity<List<DocumentResponse>> getMyDocuments() {
+    public ResponseEntity<DocumentListResponse> getMyDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status
+    ) {
 
         return ResponseEntity.ok(
-                documentService.getUserDocuments(getUserEmail())
+                documentService.listDocuments(cursor, limit, status, getUserEmail())
+        );
+    }
+
+    /* =========================================================
+       "WAITING ON ME" COUNT (DASHBOARD BADGE)
+    ========================================================= */
+    @GetMapping("/waiting-count")
+    public ResponseEntity<Map<String, Long>> getWaitingCount() {
+
+        return ResponseEntity.ok(
+                Map.of("count", documentService.countWaitingOnMe(getUserEmail()))
         );
     }
 
     /* =========================================================
        VIEW DOCUMENT (NO DOWNLOAD TRACKING)
+       Streamed from disk; Range requests answered with 206
     ========================================================= */
     @GetMapping("/{id}/view")
-    public ResponseEntity<byte[]> viewDocument(
+    public ResponseEntity<Resource> viewDocument(
             @PathVariable Long id
     ) {
 
-        byte[] fileBytes =
-                documentService.getDocumentBytes(id, getUserEmail());
+        Resource file =
+                documentService.getDocumentResource(id, getUserEmail());
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_PDF)
@@ -84,29 +170,110 @@ public class DocumentController {
                         "no-cache, no-store, must-revalidate")
                 .header(HttpHeaders.PRAGMA, "no-cache")
                 .header(HttpHeaders.EXPIRES, "0")
-                .body(fileBytes);
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(file);
+    }
+
+    /* =========================================================
+       REVISION HISTORY
+    ========================================================= */
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<List<DocumentRevisionResponse>> getRevisions(
+            @PathVariable Long id
+    ) {
+
+        return ResponseEntity.ok(
+                documentRevisionService.getRevisions(id)
+        );
+    }
+
+    /* =========================================================
+       VIEW ONE REVISION
+       Revision files never change, so they may be cached
+    ========================================================= */
+    @GetMapping("/{id}/revisions/{revision}/view")
+    public ResponseEntity<Resource> viewRevision(
+            @PathVariable Long id,
+            @PathVariable int revision
+    ) {
+
+        Resource file =
+                documentRevisionService.getRevisionResource(id, revision);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "inline; filename=\"document-r" + revision + ".pdf\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(file);
+    }
+
+    /* =========================================================
+       PAGE LAYOUT (COUNT + GEOMETRY, NO PDF TRANSFER)
+    ========================================================= */
+    @GetMapping("/{id}/pages")
+    public ResponseEntity<DocumentPagesResponse> getDocumentPages(
+            @PathVariable Long id
+    ) {
+
+        return ResponseEntity.ok(
+                documentService.getDocumentPages(id, getUserEmail())
+        );
+    }
+
+    /* =========================================================
+       PAGE PREVIEW IMAGE
+       GET /{id}/pages/{n}/preview?dpi=72
+       Strong ETag per content revision; If-None-Match → 304
+    ========================================================= */
+    @GetMapping("/{id}/pages/{page}/preview")
+    public ResponseEntity<Resource> getPagePreview(
+            @PathVariable Long id,
+            @PathVariable int page,
+            @RequestParam(required = false) Integer dpi,
+            WebRequest webRequest
+    ) {
+
+        PreviewKey key =
+                previewService.resolvePreview(id, page, dpi, getUserEmail());
+
+        if (webRequest.checkNotModified(key.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(key.etag())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(key.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(previewService.getPreview(key));
     }
 
     /* =========================================================
        DOWNLOAD DOCUMENT (TRACKED)
+       Streamed from disk; Range requests answered with 206
     ========================================================= */
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadDocument(
+    public ResponseEntity<Resource> downloadDocument(
             @PathVariable Long id
     ) {
 
-        byte[] fileBytes =
+        Resource file =
                 documentService.downloadDocument(id, getUserEmail());
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_PDF)
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"document.pdf\"")
-                .body(fileBytes);
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(file);
     }
 
     /* =========================================================
        SIGN DOCUMENT
+       ?async=true → 202 + job id, stamped by a background worker
     ========================================================= */
     @PostMapping(
             value = "/{id}/sign",
@@ -115,9 +282,21 @@ public class DocumentController {
     )
     public ResponseEntity<?> signDocument(
             @PathVariable Long id,
-            @RequestBody SignRequest request
+            @RequestBody SignRequest request,
+            @RequestParam(defaultValue = "false") boolean async
     ) {
 
+        if (async) {
+            SignJobResponse job =
+                    signJobService.submit(id, request, getUserEmail());
+
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create(
+                            "/api/documents/" + id + "/sign-jobs/" + job.getJobId()))
+                    .body(job);
+        }
+
         documentService.signDocument(id, request, getUserEmail());
 
         return ResponseEntity.ok(
@@ -125,6 +304,102 @@ public class DocumentController {
         );
     }
 
+    /* =========================================================
+       SIGN DOCUMENT (MULTIPART: BINARY IMAGE + PLACEMENTS)
+       parts: signature = PNG/JPEG file, data = SignRequest JSON
+    ========================================================= */
+    @PostMapping(
+            value = "/{id}/sign",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> signDocumentMultipart(
+            @PathVariable Long id,
+            @RequestPart("signature") MultipartFile signature,
+            @RequestPart("data") SignRequest request
+    ) throws IOException {
+
+        try (InputStream image = signature.getInputStream()) {
+            documentService.signDocument(id, request, image, getUserEmail());
+        }
+
+        return ResponseEntity.ok(
+                Map.of("message", "Document signed successfully")
+        );
+    }
+
+    /* =========================================================
+       SIGN DOCUMENT (RAW IMAGE BODY)
+       POST /{id}/sign?page=1&xPercent=..&yPercent=..
+                      &widthPercent=..&heightPercent=..
+       Content-Type: image/png | image/jpeg
+    ========================================================= */
+    @PostMapping(
+            value = "/{id}/sign",
+            consumes = {
+                    MediaType.IMAGE_PNG_VALUE,
+                    MediaType.IMAGE_JPEG_VALUE,
+                    MediaType.APPLICATION_OCTET_STREAM_VALUE
+            },
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> signDocumentRaw(
+            @PathVariable Long id,
+            @RequestParam(value = "page", defaultValue = "1") Integer page,
+            @RequestParam("xPercent") Double xPercent,
+            @RequestParam("yPercent") Double yPercent,
+            @RequestParam("widthPercent") Double widthPercent,
+            @RequestParam("heightPercent") Double heightPercent,
+            HttpServletRequest servletRequest
+    ) throws IOException {
+
+        SignRequest request = new SignRequest();
+        request.setPage(page);
+        request.setXPercent(xPercent);
+        request.setYPercent(yPercent);
+        request.setWidthPercent(widthPercent);
+        request.setHeightPercent(heightPercent);
+
+        documentService.signDocument(
+                id, request, servletRequest.getInputStream(), getUserEmail());
+
+        return ResponseEntity.ok(
+                Map.of("message", "Document signed successfully")
+        );
+    }
+
+    /* =========================================================
+       SIGN MANY DOCUMENTS WITH ONE SIGNATURE
+       Always 200; outcome is reported per document
+    ========================================================= */
+    @PostMapping(
+            value = "/sign-batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<BatchSignResponse> signBatch(
+            @RequestBody BatchSignRequest request
+    ) {
+
+        return ResponseEntity.ok(
+                batchSignService.signBatch(request, getUserEmail())
+        );
+    }
+
+    /* =========================================================
+       SIGN JOB STATUS
+    ========================================================= */
+    @GetMapping("/{id}/sign-jobs/{jobId}")
+    public ResponseEntity<SignJobResponse> getSignJob(
+            @PathVariable Long id,
+            @PathVariable Long jobId
+    ) {
+
+        return ResponseEntity.ok(
+                signJobService.getJob(id, jobId, getUserEmail())
+        );
+    }
+
     /* =========================================================
        DELETE DOCUMENT
     ========================================================= */
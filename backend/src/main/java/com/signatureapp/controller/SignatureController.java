@@ -0,0 +1,120 @@
+package com.signatureapp.controller;
+
+import com.signatureapp.dto.SavedSignatureResponse;
+import com.signatureapp.service.SignatureLibraryService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.*;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saved signature library.
+ *
+ *  GET    /api/signatures             → list (metadata only)
+ *  POST   /api/signatures?name=..     → save (raw PNG/JPEG body or
+ *                                       multipart part "image")
+ *  GET    /api/signatures/{id}/image  → normalized PNG
+ *  DELETE /api/signatures/{id}
+ *
+ * Sign requests refer to a saved signature by signatureId.
+ */
+@RestController
+@RequestMapping("/api/signatures")
+@RequiredArgsConstructor
+public class SignatureController {
+
+    private final SignatureLibraryService signatureLibraryService;
+
+    /* =========================================================
+       GET AUTHENTICATED USER EMAIL
+    ========================================================= */
+    private String getUserEmail() {
+        return SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getName();
+    }
+
+    /* =========================================================
+       LIST SIGNATURES
+    ========================================================= */
+    @GetMapping
+    public ResponseEntity<List<SavedSignatureResponse>> getSignatures() {
+
+        return ResponseEntity.ok(
+                signatureLibraryService.getSignatures(getUserEmail())
+        );
+    }
+
+    /* =========================================================
+       SAVE SIGNATURE (RAW IMAGE BODY)
+    ========================================================= */
+    @PostMapping(
+            consumes = {
+                    MediaType.IMAGE_PNG_VALUE,
+                    MediaType.IMAGE_JPEG_VALUE,
+                    MediaType.APPLICATION_OCTET_STREAM_VALUE
+            }
+    )
+    public ResponseEntity<SavedSignatureResponse> saveSignature(
+            @RequestParam("name") String name,
+            HttpServletRequest servletRequest
+    ) throws IOException {
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(signatureLibraryService.saveSignature(
+                        name, servletRequest.getInputStream(), getUserEmail()));
+    }
+
+    /* =========================================================
+       SAVE SIGNATURE (MULTIPART)
+    ========================================================= */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SavedSignatureResponse> saveSignatureMultipart(
+            @RequestParam("name") String name,
+            @RequestPart("image") MultipartFile image
+    ) throws IOException {
+
+        try (InputStream in = image.getInputStream()) {
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(signatureLibraryService.saveSignature(
+                            name, in, getUserEmail()));
+        }
+    }
+
+    /* =========================================================
+       SIGNATURE IMAGE
+       Saved images never change, so clients may cache them.
+    ========================================================= */
+    @GetMapping("/{id}/image")
+    public ResponseEntity<byte[]> getSignatureImage(@PathVariable Long id) {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(30)).cachePrivate())
+                .body(signatureLibraryService.getSignatureImage(id, getUserEmail()));
+    }
+
+    /* =========================================================
+       DELETE SIGNATURE
+    ========================================================= */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteSignature(@PathVariable Long id) {
+
+        signatureLibraryService.deleteSignature(id, getUserEmail());
+
+        return ResponseEntity.ok(
+                Map.of("message", "Signature deleted successfully")
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package com.signatureapp.controller;
+
+import com.signatureapp.dto.CreateUploadSessionRequest;
+import com.signatureapp.dto.UploadSessionResponse;
+import com.signatureapp.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Resumable chunked uploads for large documents.
+ *
+ *  POST /api/documents/uploads                      → create session
+ *  PUT  /api/documents/uploads/{id}/chunks/{index}  → send one chunk
+ *       (header X-Chunk-SHA256: hex digest of the chunk)
+ *  GET  /api/documents/uploads/{id}                 → received chunks
+ *  POST /api/documents/uploads/{id}/complete        → create Document
+ */
+@RestController
+@RequestMapping("/api/documents/uploads")
+@RequiredArgsConstructor
+public class UploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    /* =========================================================
+       GET AUTHENTICATED USER EMAIL
+    ========================================================= */
+    private String getUserEmail() {
+        return SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getName();
+    }
+
+    /* =========================================================
+       CREATE UPLOAD SESSION
+    ========================================================= */
+    @PostMapping
+    public ResponseEntity<UploadSessionResponse> createSession(
+            @RequestBody @Valid CreateUploadSessionRequest request
+    ) {
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(chunkedUploadService.createSession(request, getUserEmail()));
+    }
+
+    /* =========================================================
+       UPLOAD ONE CHUNK (RAW BODY)
+    ========================================================= */
+    @PutMapping("/{sessionId}/chunks/{chunkIndex}")
+    public ResponseEntity<UploadSessionResponse> putChunk(
+            @PathVariable String sessionId,
+            @PathVariable int chunkIndex,
+            @RequestHeader("X-Chunk-SHA256") String sha256,
+            HttpServletRequest servletRequest
+    ) throws IOException {
+
+        return ResponseEntity.ok(
+                chunkedUploadService.putChunk(
+                        sessionId,
+                        chunkIndex,
+                        servletRequest.getInputStream(),
+                        sha256,
+                        getUserEmail())
+        );
+    }
+
+    /* =========================================================
+       SESSION STATUS (RESUME POINT)
+    ========================================================= */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionResponse> getSession(
+            @PathVariable String sessionId
+    ) {
+
+        return ResponseEntity.ok(
+                chunkedUploadService.getSession(sessionId, getUserEmail())
+        );
+    }
+
+    /* =========================================================
+       FINALIZE INTO DOCUMENT
+    ========================================================= */
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<UploadSessionResponse> complete(
+            @PathVariable String sessionId
+    ) {
+
+        return ResponseEntity.ok(
+                chunkedUploadService.complete(sessionId, getUserEmail())
+        );
+    }
+}
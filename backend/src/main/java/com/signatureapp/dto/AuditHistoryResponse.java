@@ -0,0 +1,18 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of a document's audit history.
+ * nextCursor is NULL on the last page.
+ */
+@Data
+@Builder
+public class AuditHistoryResponse {
+
+    private List<AuditResponse> items;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.signatureapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One document of a batch: the usual sign request plus the
+ * document it applies to. signatureImage / signatureId may be
+ * left out to use the signature shared by the batch.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BatchSignItem extends SignRequest {
+
+    @JsonProperty("documentId")
+    @NotNull(message = "Document ID is required")
+    private Long documentId;
+}
@@ -0,0 +1,21 @@
+package com.signatureapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSignRequest {
+
+    /**
+     * Data URL of the signature, decoded once for all items
+     */
+    private String signatureImage;
+
+    /**
+     * Saved signature to use instead of signatureImage
+     */
+    private Long signatureId;
+
+    private List<BatchSignItem> items;
+}
@@ -0,0 +1,29 @@
+package com.signatureapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchSignResponse {
+
+    private int total;
+    private int signed;
+    private int failed;
+    private List<Result> results;
+
+    /**
+     * Outcome for one document, in request order
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+
+        private Long documentId;
+        private String status;
+        private String error;
+    }
+}
@@ -1,6 +1,7 @@
 package com.signatureapp.dto;
 
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.*;
@@ -25,6 +26,7 @@ public class CreateDocumentRequest {
     @NotEmpty(message = "At least one signer is required")
     @Size(min = 1, message = "Document must have at least one signer")
     private List<
+            @NotBlank(message = "Signer email must not be blank")
             @Email(message = "Invalid email format")
                     String
             > signerEmails;
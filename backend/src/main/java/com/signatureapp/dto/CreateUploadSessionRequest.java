@@ -0,0 +1,36 @@
+package com.signatureapp.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Request DTO used to start a resumable chunked upload.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateUploadSessionRequest {
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be > 0")
+    private Long totalSize;
+
+    /**
+     * Optional; server default is used when absent
+     */
+    @Positive(message = "Chunk size must be > 0")
+    private Integer chunkSize;
+
+    @NotEmpty(message = "At least one signer is required")
+    private List<
+            @Email(message = "Invalid email format")
+                    String
+            > signerEmails;
+}
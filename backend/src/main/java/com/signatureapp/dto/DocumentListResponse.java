@@ -0,0 +1,18 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of the document listing.
+ * nextCursor is NULL on the last page.
+ */
+@Data
+@Builder
+public class DocumentListResponse {
+
+    private List<DocumentResponse> items;
+    private String nextCursor;
+}
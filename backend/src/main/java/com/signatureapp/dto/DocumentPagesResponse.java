@@ -0,0 +1,18 @@
+package com.signatureapp.dto;
+
+import com.signatureapp.pdf.PageGeometry;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DocumentPagesResponse {
+
+    private Long documentId;
+    private Long fileSize;
+    private Integer pageCount;
+    private Boolean encrypted;
+    private List<PageGeometry> pages;
+}
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -13,4 +14,7 @@ public class DocumentResponse {
     private String fileName;
     private String status;
     private LocalDateTime uploadedAt;
+
+    /** Signers in signing order (listing only). */
+    private List<SignerProgressResponse> signers;
 }
@@ -0,0 +1,18 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class DocumentRevisionResponse {
+
+    private int revisionNumber;
+    private String reason;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private long fileSize;
+    private boolean current;
+}
@@ -0,0 +1,18 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SavedSignatureResponse {
+
+    private Long id;
+    private String name;
+    private int width;
+    private int height;
+    private int size;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SignJobResponse {
+
+    private Long jobId;
+    private Long documentId;
+    private String status;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
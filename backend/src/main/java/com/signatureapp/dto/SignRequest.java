@@ -1,32 +1,62 @@
 package com.signatureapp.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class SignRequest {
 
-    @NotBlank(message = "Signature image is required")
+    /**
+     * Data URL of the signature image.
+     * Not needed when signatureId is given.
+     */
     private String signatureImage;
 
+    /**
+     * ID of a saved signature to use instead of signatureImage
+     */
+    private Long signatureId;
+
+    /*
+     * Single placement. Ignored when placements is given.
+     */
+
     @JsonProperty("xPercent")
-    @NotNull(message = "X position is required")
     private Double xPercent;
 
     @JsonProperty("yPercent")
-    @NotNull(message = "Y position is required")
     private Double yPercent;
 
     @JsonProperty("widthPercent")
-    @NotNull(message = "Width is required")
     private Double widthPercent;
 
     @JsonProperty("heightPercent")
-    @NotNull(message = "Height is required")
     private Double heightPercent;
 
-    @NotNull(message = "Page number is required")
     @Min(value = 1, message = "Page must be >= 1")
     private Integer page;
+
+    /**
+     * Several stamps (e.g. initials on every page plus a full
+     * signature at the end), applied in one load and one save.
+     */
+    private List<@Valid SignaturePlacement> placements;
+
+    /**
+     * The placements to apply: the list if given, otherwise the
+     * single placement from the top-level fields.
+     */
+    public List<SignaturePlacement> effectivePlacements() {
+
+        if (placements != null && !placements.isEmpty()) {
+            return placements;
+        }
+
+        return List.of(new SignaturePlacement(
+                page, xPercent, yPercent, widthPercent, heightPercent));
+    }
 }
@@ -0,0 +1,38 @@
+package com.signatureapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where to put one stamp, as fractions of the page
+ * (origin top-left).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignaturePlacement {
+
+    @NotNull(message = "Page number is required")
+    @Min(value = 1, message = "Page must be >= 1")
+    private Integer page;
+
+    @JsonProperty("xPercent")
+    @NotNull(message = "X position is required")
+    private Double xPercent;
+
+    @JsonProperty("yPercent")
+    @NotNull(message = "Y position is required")
+    private Double yPercent;
+
+    @JsonProperty("widthPercent")
+    @NotNull(message = "Width is required")
+    private Double widthPercent;
+
+    @JsonProperty("heightPercent")
+    @NotNull(message = "Height is required")
+    private Double heightPercent;
+}
@@ -0,0 +1,16 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class SignerProgressResponse {
+
+    private int signingOrder;
+    private String signerEmail;
+    private String status;
+    private LocalDateTime signedAt;
+}
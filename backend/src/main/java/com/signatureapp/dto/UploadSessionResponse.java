@@ -0,0 +1,27 @@
+package com.signatureapp.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a chunked upload.
+ * Chunk i covers bytes [i * chunkSize, min((i + 1) * chunkSize, totalSize)).
+ */
+@Data
+@Builder
+public class UploadSessionResponse {
+
+    private String sessionId;
+    private String fileName;
+    private long totalSize;
+    private int chunkSize;
+    private int chunkCount;
+    private String status;
+    private List<Integer> receivedChunks;
+    private long receivedBytes;
+    private Long documentId;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,39 @@
+package com.signatureapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last time an audit event was logged for a de-duplicated key,
+ * shared by all nodes when {@code audit.dedup.shared} is on.
+ * Rows older than the window are swept periodically.
+ */
+@Entity
+@Table(
+        name = "audit_dedup_marks",
+        indexes = {
+                @Index(name = "idx_audit_dedup_logged_at", columnList = "logged_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditDedupMark {
+
+    /* =========================================================
+       PRIMARY KEY ("documentId|action|user")
+    ========================================================= */
+    @Id
+    @Column(name = "dedup_key", length = 250)
+    private String key;
+
+    /* =========================================================
+       TIMESTAMP
+    ========================================================= */
+    @Column(name = "logged_at", nullable = false)
+    private LocalDateTime loggedAt;
+}
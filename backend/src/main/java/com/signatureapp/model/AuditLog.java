@@ -9,12 +9,13 @@ import java.time.LocalDateTime;
 /**
  * Entity representing audit logs for document actions.
  * Stores who performed what action and when.
+ * The table is partitioned by month (see AuditPartitions).
  */
 @Entity
 @Table(
         name = "audit_logs",
         indexes = {
-                @Index(name = "idx_audit_document", columnList = "document_id"),
+                @Index(name = "idx_audit_document_time", columnList = "document_id, performed_at DESC, id DESC"),
                 @Index(name = "idx_audit_performed_at", columnList = "performed_at")
         }
 )
@@ -27,11 +28,22 @@ public class AuditLog {
 
     /* =========================================================
        PRIMARY KEY
+       Pooled sequence (not IDENTITY) so inserts can be batched
     ========================================================= */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
     private Long id;
 
+    /* =========================================================
+       EVENT ID (IDEMPOTENT WRITE-BEHIND INSERTS)
+       NULL for rows written before the audit appender.
+       Unique together with performed_at (uk_audit_event),
+       created with the partitioned table.
+    ========================================================= */
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
     /* =========================================================
        RELATION WITH DOCUMENT
        IMPORTANT:
@@ -34,6 +34,43 @@ public class Document {
     @Column(nullable = false)
     private String filePath;
 
+    /**
+     * SHA-256 of the current content in the blob store.
+     * NULL for legacy files stored outside the blob store.
+     */
+    @Column(length = 64)
+    private String contentHash;
+
+    /* =========================================================
+       PDF METADATA (INDEXED AT UPLOAD)
+       NULL for documents uploaded before indexing existed;
+       filled in on first access.
+    ========================================================= */
+    @Column
+    private Long fileSize;
+
+    @Column
+    private Integer pageCount;
+
+    @Column
+    private Boolean encrypted;
+
+    /* =========================================================
+       CURRENT REVISION
+       Switched with a compare-and-set update when a signature
+       commits. NULL for documents created before revisions.
+    ========================================================= */
+    @Column
+    private Integer currentRevision;
+
+    /* =========================================================
+       OPTIMISTIC LOCK VERSION
+       Existing rows start at 0
+    ========================================================= */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     /* =========================================================
        DOCUMENT STATUS (PENDING / SIGNED)
     ========================================================= */
@@ -93,6 +130,39 @@ public class Document {
     )
     private List<AuditLog> auditLogs;
 
+    /**
+     * Asynchronous sign jobs are removed with the document.
+     */
+    @OneToMany(
+            mappedBy = "document",
+            cascade = CascadeType.ALL,
+            orphanRemoval = true
+    )
+    private List<SignJob> signJobs;
+
+    /**
+     * Page geometry index, removed with the document.
+     */
+    @OneToMany(
+            mappedBy = "document",
+            cascade = CascadeType.ALL,
+            orphanRemoval = true
+    )
+    @OrderBy("pageNumber ASC")
+    private List<DocumentPage> pages;
+
+    /**
+     * Content revisions, removed with the document
+     * (blob references are released first).
+     */
+    @OneToMany(
+            mappedBy = "document",
+            cascade = CascadeType.ALL,
+            orphanRemoval = true
+    )
+    @OrderBy("revisionNumber DESC")
+    private List<DocumentRevision> revisions;
+
     /* =========================================================
        AUTO SET UPLOAD TIME
     ========================================================= */
@@ -0,0 +1,110 @@
+package com.signatureapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.signatureapp.pdf.PageGeometry;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Geometry of one page, indexed at upload time.
+ * Lets signing validate and place stamps, and the frontend lay out
+ * pages, without parsing the PDF.
+ */
+@Entity
+@Table(
+        name = "document_pages",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"document_id", "page_number"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentPage {
+
+    /* =========================================================
+       PRIMARY KEY
+       Pooled sequence (not IDENTITY) so inserts can be batched
+    ========================================================= */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_pages_seq")
+    @SequenceGenerator(name = "document_pages_seq", sequenceName = "document_pages_seq", allocationSize = 50)
+    private Long id;
+
+    /* =========================================================
+       RELATIONSHIP WITH DOCUMENT
+    ========================================================= */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "document_id", nullable = false)
+    @JsonIgnore
+    private Document document;
+
+    @Column(name = "page_number", nullable = false)
+    private int pageNumber;
+
+    /* =========================================================
+       MEDIA BOX
+    ========================================================= */
+    @Column(nullable = false)
+    private float mediaX;
+
+    @Column(nullable = false)
+    private float mediaY;
+
+    @Column(nullable = false)
+    private float mediaWidth;
+
+    @Column(nullable = false)
+    private float mediaHeight;
+
+    /* =========================================================
+       CROP BOX
+    ========================================================= */
+    @Column(nullable = false)
+    private float cropX;
+
+    @Column(nullable = false)
+    private float cropY;
+
+    @Column(nullable = false)
+    private float cropWidth;
+
+    @Column(nullable = false)
+    private float cropHeight;
+
+    /* =========================================================
+       ROTATION (0 / 90 / 180 / 270)
+    ========================================================= */
+    @Column(nullable = false)
+    private int rotation;
+
+    /* =========================================================
+       CONVERSION
+    ========================================================= */
+    public static DocumentPage of(Document document, PageGeometry geometry) {
+        return DocumentPage.builder()
+                .document(document)
+                .pageNumber(geometry.pageNumber())
+                .mediaX(geometry.mediaX())
+                .mediaY(geometry.mediaY())
+                .mediaWidth(geometry.mediaWidth())
+                .mediaHeight(geometry.mediaHeight())
+                .cropX(geometry.cropX())
+                .cropY(geometry.cropY())
+                .cropWidth(geometry.cropWidth())
+                .cropHeight(geometry.cropHeight())
+                .rotation(geometry.rotation())
+                .build();
+    }
+
+    public PageGeometry toGeometry() {
+        return new PageGeometry(
+                pageNumber,
+                mediaX, mediaY, mediaWidth, mediaHeight,
+                cropX, cropY, cropWidth, cropHeight,
+                rotation
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package com.signatureapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One immutable version of a document's content.
+ *
+ * Every signature produces a new revision; the document points at
+ * its current one. Each revision holds one reference on its blob,
+ * released when the revision is pruned or the document deleted.
+ */
+@Entity
+@Table(
+        name = "document_revisions",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"document_id", "revision_number"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentRevision {
+
+    /* =========================================================
+       PRIMARY KEY
+    ========================================================= */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* =========================================================
+       RELATIONSHIP WITH DOCUMENT
+    ========================================================= */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "document_id", nullable = false)
+    @JsonIgnore
+    private Document document;
+
+    @Column(name = "revision_number", nullable = false)
+    private int revisionNumber;
+
+    /* =========================================================
+       CONTENT
+    ========================================================= */
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String filePath;
+
+    @Column(nullable = false)
+    private long fileSize;
+
+    /* =========================================================
+       ORIGIN
+    ========================================================= */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AuditAction reason;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
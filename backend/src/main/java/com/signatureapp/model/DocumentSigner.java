@@ -23,9 +23,11 @@ public class DocumentSigner {
 
     /* =========================================================
        PRIMARY KEY
+       Pooled sequence (not IDENTITY) so inserts can be batched
     ========================================================= */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_signers_seq")
+    @SequenceGenerator(name = "document_signers_seq", sequenceName = "document_signers_seq", allocationSize = 50)
     private Long id;
 
     /* =========================================================
@@ -56,4 +58,17 @@ public class DocumentSigner {
     ========================================================= */
     private LocalDateTime signedAt;
 
-}
\ No newline at end of file
+    /* =========================================================
+       OPTIMISTIC LOCK VERSION
+       Existing rows start at 0
+    ========================================================= */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @PrePersist
+    @PreUpdate
+    protected void canonicalizeEmail() {
+        this.signerEmail = Emails.canonical(this.signerEmail);
+    }
+}
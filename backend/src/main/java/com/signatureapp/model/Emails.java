@@ -0,0 +1,18 @@
+package com.signatureapp.model;
+
+/**
+ * Canonical form of stored email addresses: trimmed, lower case.
+ *
+ * Every email column holds this form, so lookups are plain
+ * equality comparisons that B-tree indexes can serve.
+ */
+public final class Emails {
+
+    private Emails() {
+        // prevent instantiation
+    }
+
+    public static String canonical(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+}
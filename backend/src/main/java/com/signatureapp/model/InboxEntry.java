@@ -0,0 +1,92 @@
+package com.signatureapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One document as seen from one user's inbox.
+ *
+ * Maintained in the same transaction as the upload, signature or
+ * delete that changes it, so listings and "waiting on me" counts
+ * are range scans on user_email instead of joins over documents,
+ * users and signers.
+ */
+@Entity
+@Table(
+        name = "user_document_inbox",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"user_email", "document_id"})
+        },
+        indexes = {
+                // Listing: newest first, keyset on (uploaded_at, document_id)
+                @Index(name = "idx_inbox_user_keyset",
+                        columnList = "user_email, uploaded_at, document_id"),
+                // "Waiting on me" counts
+                @Index(name = "idx_inbox_user_turn",
+                        columnList = "user_email, my_turn")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxEntry {
+
+    /* =========================================================
+       PRIMARY KEY
+       Pooled sequence (not IDENTITY) so inserts can be batched
+    ========================================================= */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_document_inbox_seq")
+    @SequenceGenerator(name = "user_document_inbox_seq", sequenceName = "user_document_inbox_seq", allocationSize = 50)
+    private Long id;
+
+    /* =========================================================
+       OWNER OF THE INBOX (CANONICAL EMAIL)
+       Signers need not be registered users yet.
+    ========================================================= */
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    /* =========================================================
+       DOCUMENT
+    ========================================================= */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "document_id", nullable = false)
+    @JsonIgnore
+    private Document document;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InboxRole role;
+
+    /** This user is the signer whose turn it is. */
+    @Column(name = "my_turn", nullable = false)
+    private boolean myTurn;
+
+    /* =========================================================
+       DENORMALIZED DOCUMENT FIELDS
+    ========================================================= */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DocumentStatus status;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void canonicalizeEmail() {
+        this.userEmail = Emails.canonical(this.userEmail);
+    }
+}
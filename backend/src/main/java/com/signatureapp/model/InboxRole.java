@@ -0,0 +1,6 @@
+package com.signatureapp.model;
+
+public enum InboxRole {
+    OWNER,   // Uploaded the document (may also be a signer)
+    SIGNER   // Assigned signer only
+}
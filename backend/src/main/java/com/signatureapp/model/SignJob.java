@@ -0,0 +1,88 @@
+package com.signatureapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable record of an asynchronous sign request.
+ * Workers pick up QUEUED jobs, so accepted requests
+ * survive a restart of the node that accepted them.
+ */
+@Entity
+@Table(
+        name = "sign_jobs",
+        indexes = {
+                @Index(name = "idx_sign_job_status", columnList = "status, created_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SignJob {
+
+    /* =========================================================
+       PRIMARY KEY
+    ========================================================= */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* =========================================================
+       RELATION WITH DOCUMENT
+    ========================================================= */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "document_id", nullable = false)
+    @JsonIgnore
+    private Document document;
+
+    /**
+     * Read-only copy of the FK so workers can use it
+     * without touching the lazy Document proxy.
+     */
+    @Column(name = "document_id", insertable = false, updatable = false)
+    private Long documentId;
+
+    /* =========================================================
+       JOB DETAILS
+    ========================================================= */
+    @Column(name = "signer_email", nullable = false)
+    private String signerEmail;
+
+    /**
+     * SignRequest serialized as JSON
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SignJobStatus status;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    /* =========================================================
+       TIMESTAMPS
+    ========================================================= */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.status == null) {
+            this.status = SignJobStatus.QUEUED;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.signatureapp.model;
+
+public enum SignJobStatus {
+
+    QUEUED,     // Accepted, waiting for a worker
+    RUNNING,    // Claimed by a worker, stamping in progress
+    COMPLETED,  // Signature applied and workflow advanced
+    FAILED      // Signing rejected or crashed (see errorMessage)
+}
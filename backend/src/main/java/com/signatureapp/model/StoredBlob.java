@@ -0,0 +1,58 @@
+package com.signatureapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reference-counted, content-addressed file in the blob store.
+ * The primary key is the SHA-256 of the file content, so identical
+ * uploads share one row and one file on disk.
+ */
+@Entity
+@Table(
+        name = "blobs",
+        indexes = {
+                @Index(name = "idx_blob_released_at", columnList = "released_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredBlob {
+
+    /* =========================================================
+       PRIMARY KEY (HEX SHA-256)
+    ========================================================= */
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    /* =========================================================
+       CONTENT DETAILS
+    ========================================================= */
+    @Column(nullable = false)
+    private long size;
+
+    /**
+     * Number of documents pointing at this content.
+     * Bytes are freed by the garbage collector once it hits 0.
+     */
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    /* =========================================================
+       TIMESTAMPS
+    ========================================================= */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * When the last reference went away (NULL while referenced)
+     */
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+}
@@ -0,0 +1,43 @@
+package com.signatureapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One verified chunk of an {@link UploadSession}.
+ */
+@Entity
+@Table(
+        name = "upload_chunks",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"session_id", "chunk_index"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(nullable = false)
+    private int size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,86 @@
+package com.signatureapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resumable chunked upload.
+ * Chunks are written straight into one pre-sized staging file at
+ * offset {@code chunkIndex * chunkSize}; received chunks are tracked
+ * in {@link UploadChunk} rows so a client can resume after a failure.
+ */
+@Entity
+@Table(
+        name = "upload_sessions",
+        indexes = {
+                @Index(name = "idx_upload_session_expires", columnList = "status, expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    /* =========================================================
+       PRIMARY KEY (RANDOM, NOT GUESSABLE)
+    ========================================================= */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /* =========================================================
+       OWNER + TARGET DOCUMENT DETAILS
+    ========================================================= */
+    @Column(name = "uploader_email", nullable = false)
+    private String uploaderEmail;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(
+            name = "upload_session_signers",
+            joinColumns = @JoinColumn(name = "session_id")
+    )
+    @OrderColumn(name = "signing_order")
+    @Column(name = "signer_email", nullable = false)
+    private List<String> signerEmails;
+
+    /* =========================================================
+       LAYOUT
+    ========================================================= */
+    @Column(nullable = false)
+    private long totalSize;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Column(nullable = false)
+    private int chunkCount;
+
+    /**
+     * Staging file the chunks are written into
+     */
+    @Column(nullable = false)
+    private String stagingPath;
+
+    /* =========================================================
+       STATE
+    ========================================================= */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadSessionStatus status;
+
+    private Long documentId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,8 @@
+package com.signatureapp.model;
+
+public enum UploadSessionStatus {
+
+    OPEN,       // Accepting chunks
+    COMPLETED,  // Assembled into a Document
+    FAILED      // Assembly failed after the staged file was consumed
+}
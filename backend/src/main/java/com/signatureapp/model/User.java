@@ -30,6 +30,12 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String password;
 
+    @PrePersist
+    @PreUpdate
+    protected void canonicalizeEmail() {
+        this.email = Emails.canonical(this.email);
+    }
+
     // 🔐 SPRING SECURITY METHODS
 
     @Override
@@ -0,0 +1,76 @@
+package com.signatureapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A signature saved by a user for reuse.
+ * The image is stored normalized (cropped, scaled, PNG) once,
+ * so signing never has to process the original upload again.
+ */
+@Entity
+@Table(
+        name = "user_signatures",
+        indexes = {
+                @Index(name = "idx_user_signatures_user", columnList = "user_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSignature {
+
+    /* =========================================================
+       PRIMARY KEY
+    ========================================================= */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* =========================================================
+       OWNER
+    ========================================================= */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /* =========================================================
+       NORMALIZED IMAGE (PNG)
+    ========================================================= */
+
+    /**
+     * SHA-256 of imageData; key of the prepared-image cache
+     */
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private int width;
+
+    @Column(nullable = false)
+    private int height;
+
+    @Column(nullable = false)
+    private int size;
+
+    @Column(nullable = false)
+    private byte[] imageData;
+
+    /* =========================================================
+       TIMESTAMP
+    ========================================================= */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
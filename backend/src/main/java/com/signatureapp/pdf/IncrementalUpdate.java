@@ -0,0 +1,60 @@
+package com.signatureapp.pdf;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+
+/**
+ * Helpers for writing PDF changes as an incremental update.
+ *
+ * An incremental update appends only the changed and new objects
+ * plus a new xref section after the original bytes. Earlier revisions
+ * stay byte-for-byte intact, and the PDF data produced per signature
+ * depends on the size of the stamp, not the size of the document.
+ */
+public final class IncrementalUpdate {
+
+    private IncrementalUpdate() {
+        // prevent instantiation
+    }
+
+    /* =========================================================
+       MARK PAGE AS CHANGED
+       PDFBox only writes objects flagged as updated, so the page,
+       its resources and the path up to the catalog are flagged.
+       Call this AFTER drawing on the page.
+    ========================================================= */
+    public static void markPageChanged(PDDocument pdf, PDPage page) {
+
+        COSDictionary pageDict = page.getCOSObject();
+        pageDict.setNeedToBeUpdated(true);
+
+        COSBase contents = pageDict.getDictionaryObject(COSName.CONTENTS);
+        if (contents instanceof COSArray array) {
+            array.setNeedToBeUpdated(true);
+        }
+
+        PDResources resources = page.getResources();
+        if (resources != null) {
+            COSDictionary resourcesDict = resources.getCOSObject();
+            resourcesDict.setNeedToBeUpdated(true);
+
+            COSDictionary xObjects = resourcesDict.getCOSDictionary(COSName.XOBJECT);
+            if (xObjects != null) {
+                xObjects.setNeedToBeUpdated(true);
+            }
+        }
+
+        COSDictionary parent = pageDict.getCOSDictionary(COSName.PARENT);
+        while (parent != null) {
+            parent.setNeedToBeUpdated(true);
+            parent = parent.getCOSDictionary(COSName.PARENT);
+        }
+
+        pdf.getDocumentCatalog().getCOSObject().setNeedToBeUpdated(true);
+    }
+}
@@ -0,0 +1,45 @@
+package com.signatureapp.pdf;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+/**
+ * Page boxes and rotation of one PDF page, in PDF user space units.
+ *
+ * @param pageNumber 1-based page number
+ */
+public record PageGeometry(
+        int pageNumber,
+        float mediaX,
+        float mediaY,
+        float mediaWidth,
+        float mediaHeight,
+        float cropX,
+        float cropY,
+        float cropWidth,
+        float cropHeight,
+        int rotation
+) {
+
+    /**
+     * Read geometry from a loaded page (inherited boxes resolved).
+     */
+    public static PageGeometry of(int pageNumber, PDPage page) {
+
+        PDRectangle media = page.getMediaBox();
+        PDRectangle crop = page.getCropBox();
+
+        return new PageGeometry(
+                pageNumber,
+                media.getLowerLeftX(),
+                media.getLowerLeftY(),
+                media.getWidth(),
+                media.getHeight(),
+                crop.getLowerLeftX(),
+                crop.getLowerLeftY(),
+                crop.getWidth(),
+                crop.getHeight(),
+                page.getRotation()
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.signatureapp.pdf;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Rasterizes PDF pages for previews.
+ */
+public final class PageImages {
+
+    /**
+     * PNG: lossless and the only compact format the JDK can write
+     * without extra ImageIO plugins.
+     */
+    public static final String FORMAT = "png";
+
+    private PageImages() {
+        // prevent instantiation
+    }
+
+    /**
+     * Render one page and write it as an image.
+     *
+     * @param pageNumber 1-based page number
+     */
+    public static void render(
+            PDFRenderer renderer,
+            int pageNumber,
+            int dpi,
+            OutputStream out
+    ) throws IOException {
+
+        BufferedImage image =
+                renderer.renderImageWithDPI(pageNumber - 1, dpi, ImageType.RGB);
+
+        try {
+            ImageIO.write(image, FORMAT, out);
+        } finally {
+            image.flush();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.signatureapp.pdf;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cheap structural checks on raw PDF bytes, used while an upload
+ * streams through, before any parsing happens.
+ */
+public final class PdfFormat {
+
+    /** Bytes to keep from the start of the file */
+    public static final int HEAD_SIZE = 8;
+
+    /** Bytes to keep from the end of the file (spec allows trailing junk) */
+    public static final int TAIL_SIZE = 1024;
+
+    private static final byte[] HEADER = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EOF_MARKER = "%%EOF".getBytes(StandardCharsets.US_ASCII);
+
+    private PdfFormat() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param head First bytes of the file
+     * @param tail Last bytes of the file
+     * @return true if the file starts with %PDF- and has an %%EOF trailer
+     */
+    public static boolean looksLikePdf(byte[] head, byte[] tail) {
+        return startsWith(head, HEADER) && contains(tail, EOF_MARKER);
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+
+        if (data.length < prefix.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean contains(byte[] data, byte[] marker) {
+
+        outer:
+        for (int i = data.length - marker.length; i >= 0; i--) {
+            for (int j = 0; j < marker.length; j++) {
+                if (data[i + j] != marker[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.signatureapp.pdf;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page count, per-page geometry and security flags of a PDF,
+ * captured once so later requests don't have to parse the file.
+ */
+public record PdfLayout(
+        int pageCount,
+        boolean encrypted,
+        long fileSize,
+        List<PageGeometry> pages
+) {
+
+    /**
+     * Read the layout of a loaded document.
+     */
+    public static PdfLayout of(PDDocument pdf, long fileSize) {
+
+        List<PageGeometry> pages = new ArrayList<>(pdf.getNumberOfPages());
+
+        int number = 1;
+        for (PDPage page : pdf.getPages()) {
+            pages.add(PageGeometry.of(number++, page));
+        }
+
+        return new PdfLayout(pages.size(), pdf.isEncrypted(), fileSize, pages);
+    }
+}
@@ -0,0 +1,196 @@
+package com.signatureapp.pdf;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single entry point for opening PDFs.
+ *
+ *  - Each document gets a capped heap buffer and spills the rest
+ *    to scratch files (MemoryUsageSetting mixed mode), instead of
+ *    PDFBox's default of holding everything on the heap.
+ *  - A global budget limits the bytes of PDF being processed at
+ *    once across all threads. Callers wait for room up to a
+ *    timeout, then get a 429 instead of pushing the node into OOM.
+ *
+ * Budget usage is published as Micrometer gauges under pdf.budget.*.
+ */
+@Component
+@RequiredArgsConstructor
+public class PdfLoader {
+
+    private static final int KB = 1024;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.root:${user.home}/signature-app-uploads}")
+    private String root;
+
+    /**
+     * Heap buffer per open document; the rest goes to scratch files
+     */
+    @Value("${pdf.memory.max-heap-per-document:32MB}")
+    private DataSize maxHeapPerDocument;
+
+    /**
+     * Scratch file limit per open document (-1 = unlimited)
+     */
+    @Value("${pdf.memory.max-scratch-per-document:-1B}")
+    private DataSize maxScratchPerDocument;
+
+    /**
+     * Total size of PDFs open at the same time
+     */
+    @Value("${pdf.budget.max-size:1GB}")
+    private DataSize budget;
+
+    @Value("${pdf.budget.wait-ms:10000}")
+    private long waitMillis;
+
+    /**
+     * Permits are kilobytes so budgets over 2 GB still fit an int
+     */
+    private Semaphore permits;
+    private int budgetKb;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private Counter rejected;
+
+    @PostConstruct
+    void init() throws IOException {
+
+        budgetKb = (int) Math.min(Integer.MAX_VALUE, budget.toBytes() / KB);
+        permits = new Semaphore(budgetKb, true);
+
+        Files.createDirectories(scratchDir());
+
+        Gauge.builder("pdf.budget.max", () -> (double) budgetKb * KB)
+                .baseUnit("bytes")
+                .description("PDF processing budget")
+                .register(meterRegistry);
+
+        Gauge.builder("pdf.budget.in_use", () -> (double) (budgetKb - permits.availablePermits()) * KB)
+                .baseUnit("bytes")
+                .description("Bytes of PDF currently being processed")
+                .register(meterRegistry);
+
+        Gauge.builder("pdf.budget.waiting", waiting::get)
+                .description("Callers waiting for processing budget")
+                .register(meterRegistry);
+
+        rejected = Counter.builder("pdf.budget.rejected")
+                .description("Loads rejected because the budget stayed exhausted")
+                .register(meterRegistry);
+    }
+
+    private Path scratchDir() {
+        return Paths.get(root, "tmp", "pdfbox");
+    }
+
+    /* =========================================================
+       OPEN
+    ========================================================= */
+
+    /**
+     * Reserve budget for the file and load it.
+     * Close the returned handle to release both.
+     *
+     * @throws ProcessingBudgetExceededException if no budget became free in time
+     */
+    public OpenPdf open(Path file) throws IOException {
+
+        int weight = weightOf(Files.size(file));
+
+        waiting.incrementAndGet();
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(weight, waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for PDF budget", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        if (!admitted) {
+            rejected.increment();
+            throw new ProcessingBudgetExceededException();
+        }
+
+        try {
+            PDDocument document = PDDocument.load(file.toFile(), memoryUsage());
+            return new OpenPdf(document, weight);
+
+        } catch (IOException | RuntimeException e) {
+            permits.release(weight);
+            throw e;
+        }
+    }
+
+    private MemoryUsageSetting memoryUsage() {
+        return MemoryUsageSetting
+                .setupMixed(maxHeapPerDocument.toBytes(), maxScratchPerDocument.toBytes())
+                .setTempDir(scratchDir().toFile());
+    }
+
+    /**
+     * File size in KB, at least 64 KB; a file larger than the whole
+     * budget takes all of it and is processed alone.
+     */
+    private int weightOf(long size) {
+        long kb = (size + KB - 1) / KB;
+        return (int) Math.min(budgetKb, Math.max(64, kb));
+    }
+
+    /* =========================================================
+       HANDLE
+    ========================================================= */
+
+    public final class OpenPdf implements Closeable {
+
+        private final PDDocument document;
+        private final int weight;
+        private boolean closed;
+
+        private OpenPdf(PDDocument document, int weight) {
+            this.document = document;
+            this.weight = weight;
+        }
+
+        public PDDocument document() {
+            return document;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            try {
+                document.close();
+            } finally {
+                permits.release(weight);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.signatureapp.pdf;
+
+/**
+ * Where a signature image is drawn, in PDF user space.
+ *
+ * @param pageNumber 1-based page number
+ * @param x          Lower-left x
+ * @param y          Lower-left y
+ * @param width      Drawn width
+ * @param height     Drawn height
+ */
+public record Placement(
+        int pageNumber,
+        float x,
+        float y,
+        float width,
+        float height
+) {
+
+    /**
+     * Signatures are drawn at 65% of the requested box
+     */
+    private static final float SIZE_FACTOR = 0.65f;
+
+    /**
+     * Convert a placement given as fractions of the page
+     * (origin top-left, as the frontend sends it) into
+     * PDF coordinates (origin bottom-left).
+     */
+    public static Placement compute(
+            PageGeometry page,
+            double xPercent,
+            double yPercent,
+            double widthPercent,
+            double heightPercent
+    ) {
+
+        float pageWidth = page.mediaWidth();
+        float pageHeight = page.mediaHeight();
+
+        float width = (float) (widthPercent * pageWidth * SIZE_FACTOR);
+        float height = (float) (heightPercent * pageHeight * SIZE_FACTOR);
+
+        float x = page.mediaX() + (float) (xPercent * pageWidth);
+        float y = page.mediaY() + (float) (pageHeight - (yPercent * pageHeight) - height);
+
+        return new Placement(page.pageNumber(), x, y, width, height);
+    }
+}
@@ -0,0 +1,16 @@
+package com.signatureapp.pdf;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when a PDF could not be admitted within the processing
+ * budget in time. Answered with 429; background work retries later.
+ */
+public class ProcessingBudgetExceededException extends ResponseStatusException {
+
+    public ProcessingBudgetExceededException() {
+        super(HttpStatus.TOO_MANY_REQUESTS,
+                "Server is busy processing documents, please retry shortly");
+    }
+}
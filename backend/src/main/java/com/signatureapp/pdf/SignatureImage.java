@@ -0,0 +1,256 @@
+package com.signatureapp.pdf;
+
+import org.apache.pdfbox.cos.*;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A signature image decoded and encoded as a PDF image XObject once,
+ * then copied into any number of documents.
+ *
+ * Creating an XObject from PNG/JPEG bytes means decoding the image
+ * and re-compressing the pixels. Here that happens once; each target
+ * document only receives a byte copy of the already encoded streams.
+ *
+ * Immutable and safe to share between threads.
+ */
+public final class SignatureImage {
+
+    /**
+     * Encoded image stream, detached from any document
+     */
+    private final FrozenStream image;
+
+    private final int width;
+    private final int height;
+
+    private SignatureImage(FrozenStream image, int width, int height) {
+        this.image = image;
+        this.width = width;
+        this.height = height;
+    }
+
+    /* =========================================================
+       FACTORIES
+    ========================================================= */
+
+    /**
+     * From a data URL ("data:image/png;base64,....") or plain base64.
+     */
+    public static SignatureImage fromDataUrl(String dataUrl) throws IOException {
+
+        int comma = dataUrl.indexOf(',');
+        String base64 = comma < 0 ? dataUrl : dataUrl.substring(comma + 1);
+
+        try {
+            return fromBytes(Base64.getDecoder().decode(base64));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Signature image is not valid base64", e);
+        }
+    }
+
+    /**
+     * From raw PNG, JPEG, GIF, BMP or TIFF bytes.
+     */
+    public static SignatureImage fromBytes(byte[] bytes) throws IOException {
+
+        try (PDDocument scratch = new PDDocument()) {
+
+            PDImageXObject xObject =
+                    PDImageXObject.createFromByteArray(scratch, bytes, "signature");
+
+            return new SignatureImage(
+                    (FrozenStream) freeze(xObject.getCOSObject()),
+                    xObject.getWidth(),
+                    xObject.getHeight());
+        }
+    }
+
+    /**
+     * From a raw image stream (PNG, JPEG, GIF, BMP).
+     *
+     * JPEG data is embedded as-is (DCT), other formats are decoded
+     * straight from the stream; the encoded bytes are never held
+     * as a separate array or string.
+     */
+    public static SignatureImage fromStream(InputStream in) throws IOException {
+
+        BufferedInputStream buffered = new BufferedInputStream(in);
+
+        buffered.mark(2);
+        boolean jpeg = buffered.read() == 0xFF && buffered.read() == 0xD8;
+        buffered.reset();
+
+        try (PDDocument scratch = new PDDocument()) {
+
+            PDImageXObject xObject;
+
+            if (jpeg) {
+                xObject = JPEGFactory.createFromStream(scratch, buffered);
+            } else {
+                BufferedImage decoded = ImageIO.read(buffered);
+                if (decoded == null) {
+                    throw new IOException("Unsupported image format");
+                }
+                xObject = LosslessFactory.createFromImage(scratch, decoded);
+                decoded.flush();
+            }
+
+            return new SignatureImage(
+                    (FrozenStream) freeze(xObject.getCOSObject()),
+                    xObject.getWidth(),
+                    xObject.getHeight());
+        }
+    }
+
+    /* =========================================================
+       IMPORT
+    ========================================================= */
+
+    /**
+     * Create the image XObject in the given document.
+     * Call once per document and reuse it for every placement.
+     */
+    public PDImageXObject importInto(PDDocument target) throws IOException {
+        COSStream stream = (COSStream) thaw(image, target);
+        return new PDImageXObject(new PDStream(stream), null);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Size of the encoded image data (image + soft mask).
+     */
+    public long getEncodedSize() {
+        return image.encodedSize();
+    }
+
+    /* =========================================================
+       DETACHED COPY OF THE COS TREE
+       Streams are read into byte arrays so nothing references
+       the scratch document once it is closed.
+    ========================================================= */
+
+    private record FrozenStream(Map<COSName, Object> entries, byte[] raw) {
+
+        long encodedSize() {
+            long size = raw.length;
+            for (Object value : entries.values()) {
+                if (value instanceof FrozenStream stream) {
+                    size += stream.encodedSize();
+                }
+            }
+            return size;
+        }
+    }
+
+    private record FrozenDictionary(Map<COSName, Object> entries) {
+    }
+
+    private static Object freeze(COSBase base) throws IOException {
+
+        if (base instanceof COSObject object) {
+            return freeze(object.getObject());
+        }
+
+        if (base instanceof COSStream stream) {
+            byte[] raw;
+            try (InputStream in = stream.createRawInputStream()) {
+                raw = in.readAllBytes();
+            }
+            return new FrozenStream(freezeEntries(stream), raw);
+        }
+
+        if (base instanceof COSDictionary dictionary) {
+            return new FrozenDictionary(freezeEntries(dictionary));
+        }
+
+        if (base instanceof COSArray array) {
+            List<Object> items = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                items.add(freeze(array.get(i)));
+            }
+            return List.copyOf(items);
+        }
+
+        // Names, numbers, booleans, strings: immutable in practice
+        return base == null ? COSNull.NULL : base;
+    }
+
+    private static Map<COSName, Object> freezeEntries(COSDictionary dictionary)
+            throws IOException {
+
+        Map<COSName, Object> entries = new LinkedHashMap<>();
+
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            if (!COSName.LENGTH.equals(entry.getKey())) {
+                entries.put(entry.getKey(), freeze(entry.getValue()));
+            }
+        }
+
+        return entries;
+    }
+
+    private static COSBase thaw(Object frozen, PDDocument target) throws IOException {
+
+        if (frozen instanceof FrozenStream stream) {
+
+            COSStream copy = target.getDocument().createCOSStream();
+            thawEntries(stream.entries(), copy, target);
+
+            // Raw write keeps the existing /Filter: no re-encoding
+            try (OutputStream out = copy.createRawOutputStream()) {
+                out.write(stream.raw());
+            }
+            return copy;
+        }
+
+        if (frozen instanceof FrozenDictionary dictionary) {
+            COSDictionary copy = new COSDictionary();
+            thawEntries(dictionary.entries(), copy, target);
+            return copy;
+        }
+
+        if (frozen instanceof List<?> items) {
+            COSArray copy = new COSArray();
+            for (Object item : items) {
+                copy.add(thaw(item, target));
+            }
+            return copy;
+        }
+
+        return (COSBase) frozen;
+    }
+
+    private static void thawEntries(
+            Map<COSName, Object> entries,
+            COSDictionary target,
+            PDDocument document
+    ) throws IOException {
+
+        for (Map.Entry<COSName, Object> entry : entries.entrySet()) {
+            target.setItem(entry.getKey(), thaw(entry.getValue(), document));
+        }
+    }
+}
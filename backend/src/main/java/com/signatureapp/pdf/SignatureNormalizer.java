@@ -0,0 +1,114 @@
+package com.signatureapp.pdf;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Turns an uploaded signature into a compact PNG:
+ * cropped to the inked area, scaled down to a maximum size,
+ * alpha kept.
+ */
+public final class SignatureNormalizer {
+
+    /**
+     * Pixels lighter than this (on all channels) count as paper
+     */
+    private static final int BACKGROUND_THRESHOLD = 245;
+
+    private SignatureNormalizer() {
+        // prevent instantiation
+    }
+
+    /**
+     * Normalized image
+     */
+    public record Result(byte[] png, int width, int height) {
+    }
+
+    public static Result normalize(InputStream in, int maxWidth, int maxHeight)
+            throws IOException {
+
+        BufferedImage source = ImageIO.read(in);
+        if (source == null) {
+            throw new IOException("Unsupported image format");
+        }
+
+        Rectangle ink = inkBounds(source);
+        if (ink == null) {
+            throw new IOException("Signature image is empty");
+        }
+
+        double scale = Math.min(1.0, Math.min(
+                (double) maxWidth / ink.width,
+                (double) maxHeight / ink.height));
+
+        int width = Math.max(1, (int) Math.round(ink.width * scale));
+        int height = Math.max(1, (int) Math.round(ink.height * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING,
+                    RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source,
+                    0, 0, width, height,
+                    ink.x, ink.y, ink.x + ink.width, ink.y + ink.height,
+                    null);
+        } finally {
+            g.dispose();
+            source.flush();
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(target, "png", png);
+        target.flush();
+
+        return new Result(png.toByteArray(), width, height);
+    }
+
+    /**
+     * Bounding box of pixels that are neither transparent nor
+     * paper-white; NULL if there are none.
+     */
+    private static Rectangle inkBounds(BufferedImage image) {
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = -1, maxY = -1;
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+
+                int argb = image.getRGB(x, y);
+
+                if (isInk(argb)) {
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+
+        return maxX < 0
+                ? null
+                : new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+    }
+
+    private static boolean isInk(int argb) {
+
+        int alpha = (argb >>> 24) & 0xFF;
+        int red = (argb >> 16) & 0xFF;
+        int green = (argb >> 8) & 0xFF;
+        int blue = argb & 0xFF;
+
+        return alpha > 0 && (red < BACKGROUND_THRESHOLD
+                || green < BACKGROUND_THRESHOLD
+                || blue < BACKGROUND_THRESHOLD);
+    }
+}
@@ -0,0 +1,51 @@
+package com.signatureapp.preview;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+/**
+ * Cached image that is already open. The open file stays readable
+ * even if eviction deletes it before the response is written.
+ *
+ * Read once: closing the stream closes the file.
+ */
+final class OpenImage extends AbstractResource {
+
+    private final FileChannel channel;
+    private final long size;
+    private final String description;
+
+    OpenImage(FileChannel channel, long size, String description) {
+        this.channel = channel;
+        this.size = size;
+        this.description = description;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return Channels.newInputStream(channel);
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Preview image [" + description + "]";
+    }
+}
@@ -0,0 +1,268 @@
+package com.signatureapp.preview;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Size-limited disk cache of rendered page images.
+ *
+ * Layout under {@code storage.root}:
+ * <pre>
+ *   previews/&lt;revision&gt;/&lt;page&gt;-&lt;dpi&gt;.png
+ * </pre>
+ * Least recently used images are deleted once the cache grows
+ * past {@code preview.cache.max-size}.
+ *
+ * Images are handed out already open, so eviction can delete a
+ * file while it is being streamed. Revision directories are only
+ * removed while nothing is being written into them.
+ */
+@Slf4j
+@Component
+public class PreviewCache {
+
+    /**
+     * Writes the image for a key.
+     */
+    @FunctionalInterface
+    public interface ImageWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @Value("${storage.root:${user.home}/signature-app-uploads}")
+    private String root;
+
+    @Value("${preview.cache.max-size:1GB}")
+    private DataSize maxSize;
+
+    /**
+     * Cached files in access order → size in bytes.
+     */
+    private final LinkedHashMap<Path, Long> entries =
+            new LinkedHashMap<>(256, 0.75f, true);
+
+    private long totalBytes;
+
+    /**
+     * Revision directory → puts writing into it. Guarded by entries.
+     */
+    private final Map<Path, Integer> writing = new HashMap<>();
+
+    /* =========================================================
+       PATHS
+    ========================================================= */
+
+    private Path previewsDir() {
+        return Paths.get(root, "previews");
+    }
+
+    private Path resolve(PreviewKey key) {
+        return previewsDir()
+                .resolve(key.revision())
+                .resolve(key.fileName());
+    }
+
+    /* =========================================================
+       STARTUP
+       Rebuild the index from disk, oldest first.
+    ========================================================= */
+
+    @PostConstruct
+    void loadIndex() throws IOException {
+
+        Files.createDirectories(previewsDir());
+
+        try (Stream<Path> files = Files.walk(previewsDir())) {
+            files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .forEach(file -> {
+                        if (file.getFileName().toString().endsWith(".tmp")) {
+                            deleteQuietly(file);
+                        } else {
+                            register(file, size(file));
+                        }
+                    });
+        }
+
+        evict();
+    }
+
+    /* =========================================================
+       GET
+    ========================================================= */
+
+    public boolean contains(PreviewKey key) {
+
+        Path file = resolve(key);
+
+        synchronized (entries) {
+            if (entries.get(file) == null) {
+                return false;
+            }
+        }
+
+        return Files.exists(file);
+    }
+
+    /**
+     * Cached image, opened; empty if it is missing or was evicted
+     * just now.
+     */
+    public Optional<Resource> open(PreviewKey key) {
+
+        Path file = resolve(key);
+
+        synchronized (entries) {
+            if (entries.get(file) == null) {
+                return Optional.empty();
+            }
+        }
+
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            return Optional.of(new OpenImage(channel, channel.size(), file.toString()));
+
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* =========================================================
+       PUT
+       Written to a temp file and moved in, so readers never see
+       a half-written image.
+    ========================================================= */
+
+    public void put(PreviewKey key, ImageWriter writer) throws IOException {
+
+        Path target = resolve(key);
+        Path dir = target.getParent();
+
+        synchronized (entries) {
+            writing.merge(dir, 1, Integer::sum);
+        }
+
+        try {
+            Files.createDirectories(dir);
+
+            Path temp = Files.createTempFile(dir, "render-", ".tmp");
+
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    writer.write(out);
+                }
+
+                Files.move(temp, target,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+        } finally {
+            synchronized (entries) {
+                writing.computeIfPresent(dir, (d, count) -> count == 1 ? null : count - 1);
+            }
+        }
+
+        register(target, size(target));
+        evict();
+    }
+
+    /* =========================================================
+       EVICTION
+    ========================================================= */
+
+    private void register(Path file, long size) {
+        synchronized (entries) {
+            Long previous = entries.put(file, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+        }
+    }
+
+    private void evict() {
+
+        while (true) {
+
+            Path victim;
+
+            synchronized (entries) {
+                if (totalBytes <= maxSize.toBytes() || entries.isEmpty()) {
+                    return;
+                }
+
+                Iterator<Map.Entry<Path, Long>> eldest = entries.entrySet().iterator();
+                Map.Entry<Path, Long> entry = eldest.next();
+
+                victim = entry.getKey();
+                totalBytes -= entry.getValue();
+                eldest.remove();
+            }
+
+            deleteQuietly(victim);
+
+            Path dir = victim.getParent();
+
+            synchronized (entries) {
+                // Drop the revision directory once its last image is
+                // gone, unless a put is about to write into it
+                if (!writing.containsKey(dir)) {
+                    try {
+                        Files.deleteIfExists(dir);
+                    } catch (IOException ignored) {
+                        // still has images
+                    }
+                }
+            }
+        }
+    }
+
+    /* =========================================================
+       UTILITY
+    ========================================================= */
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete preview {}: {}", file, e.getMessage());
+        }
+    }
+}
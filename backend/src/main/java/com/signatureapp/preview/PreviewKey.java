@@ -0,0 +1,31 @@
+package com.signatureapp.preview;
+
+/**
+ * Identifies one rendered page image.
+ *
+ * @param revision   Content revision (the blob hash), so every
+ *                   signature yields new keys and stale images
+ *                   are never served
+ * @param filePath   PDF to render from
+ * @param pageNumber 1-based page number
+ * @param dpi        Render resolution
+ */
+public record PreviewKey(
+        String revision,
+        String filePath,
+        int pageNumber,
+        int dpi
+) {
+
+    /**
+     * Strong validator: the image is fully determined by the
+     * revision, page and resolution.
+     */
+    public String etag() {
+        return "\"" + revision + "-" + pageNumber + "-" + dpi + "\"";
+    }
+
+    String fileName() {
+        return pageNumber + "-" + dpi + ".png";
+    }
+}
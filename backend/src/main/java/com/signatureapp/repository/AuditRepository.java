@@ -2,33 +2,58 @@ package com.signatureapp.repository;
 
 import com.signatureapp.model.AuditAction;
 import com.signatureapp.model.AuditLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface AuditRepository extends JpaRepository<AuditLog, Long> {
 
     /* =========================================================
-       FETCH AUDIT LOGS BY DOCUMENT ID (PAGINATED)
-       Ordered by latest first
+       AUDIT HISTORY (KEYSET PAGE, NO ENTITY HYDRATION)
+       Latest first; one range scan on
+       (document_id, performed_at DESC, id DESC). The
+       performed_at <= bound is what the index seeks to.
     ========================================================= */
-    Page<AuditLog> findByDocument_IdOrderByPerformedAtDesc(
-            Long documentId,
-            Pageable pageable
+
+    /**
+     * Row of a document's audit history.
+     */
+    interface AuditEntry {
+        Long getId();
+        AuditAction getAction();
+        String getPerformedBy();
+        String getIpAddress();
+        LocalDateTime getPerformedAt();
+    }
+
+    @Query("""
+        SELECT a.id AS id, a.action AS action, a.performedBy AS performedBy,
+               a.ipAddress AS ipAddress, a.performedAt AS performedAt
+        FROM AuditLog a
+        WHERE a.document.id = :documentId
+          AND a.performedAt <= :beforeAt
+          AND (a.performedAt < :beforeAt OR a.id < :beforeId)
+        ORDER BY a.performedAt DESC, a.id DESC
+    """)
+    List<AuditEntry> findPage(
+            @Param("documentId") Long documentId,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            Limit limit
     );
 
+
     /* =========================================================
-       CHECK IF DOWNLOAD ALREADY LOGGED RECENTLY
-       (Prevents duplicate logs within time window)
+       DOCUMENT DELETED
     ========================================================= */
-    boolean existsByDocument_IdAndActionAndPerformedByAndPerformedAtAfter(
-            Long documentId,
-            AuditAction action,
-            String performedBy,
-            LocalDateTime performedAt
-    );
-}
\ No newline at end of file
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.document.id = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+}
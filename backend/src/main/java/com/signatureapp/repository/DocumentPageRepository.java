@@ -0,0 +1,23 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.DocumentPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DocumentPageRepository extends JpaRepository<DocumentPage, Long> {
+
+    /* =========================================================
+       ALL PAGES OF A DOCUMENT (ORDERED)
+    ========================================================= */
+    List<DocumentPage> findByDocument_IdOrderByPageNumberAsc(Long documentId);
+
+
+    /* =========================================================
+       PAGES TOUCHED BY A SIGN REQUEST
+    ========================================================= */
+    List<DocumentPage> findByDocument_IdAndPageNumberIn(Long documentId, Collection<Integer> pageNumbers);
+}
@@ -2,7 +2,10 @@ package com.signatureapp.repository;
 
 import com.signatureapp.model.Document;
 import com.signatureapp.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -18,24 +21,19 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
 
     /* =========================================================
-       FETCH DOCUMENTS FOR USER
-       (Uploader OR Assigned Signer)
+       SECURITY: FETCH DOCUMENT BY ID + OWNER
     ========================================================= */
-    @Query("""
-        SELECT DISTINCT d
-        FROM Document d
-        LEFT JOIN d.signers s
-        WHERE LOWER(d.uploadedBy.email) = LOWER(:email)
-           OR LOWER(s.signerEmail) = LOWER(:email)
-        ORDER BY d.uploadedAt DESC
-    """)
-    List<Document> findDocumentsForUser(@Param("email") String email);
+    Optional<Document> findByIdAndUploadedBy(Long id, User user);
 
 
     /* =========================================================
-       SECURITY: FETCH DOCUMENT BY ID + OWNER
+       FETCH BY OWNER + ROW LOCK (DELETE)
+       Holds off audit inserts for the document until the
+       delete commits; they are then skipped.
     ========================================================= */
-    Optional<Document> findByIdAndUploadedBy(Long id, User user);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Document d WHERE d.id = :id AND d.uploadedBy = :user")
+    Optional<Document> lockByIdAndUploadedBy(@Param("id") Long id, @Param("user") User user);
 
 
     /* =========================================================
@@ -48,4 +46,30 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
        CHECK OWNERSHIP
     ========================================================= */
     boolean existsByIdAndUploadedBy(Long id, User user);
-}
\ No newline at end of file
+
+
+    /* =========================================================
+       SWITCH CURRENT REVISION (COMPARE-AND-SET)
+       Matches only while the document is still on the revision
+       the new content was derived from; 0 rows = lost the race.
+    ========================================================= */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Document d
+        SET d.currentRevision = :next,
+            d.contentHash = :contentHash,
+            d.filePath = :filePath,
+            d.fileSize = :fileSize,
+            d.version = d.version + 1
+        WHERE d.id = :id
+          AND COALESCE(d.currentRevision, 0) = :expected
+    """)
+    int switchRevision(
+            @Param("id") Long id,
+            @Param("expected") int expected,
+            @Param("next") int next,
+            @Param("contentHash") String contentHash,
+            @Param("filePath") String filePath,
+            @Param("fileSize") long fileSize
+    );
+}
@@ -0,0 +1,69 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.DocumentRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentRevisionRepository extends JpaRepository<DocumentRevision, Long> {
+
+    /* =========================================================
+       REVISION HISTORY (NEWEST FIRST)
+    ========================================================= */
+    List<DocumentRevision> findByDocument_IdOrderByRevisionNumberDesc(Long documentId);
+
+
+    Optional<DocumentRevision> findByDocument_IdAndRevisionNumber(Long documentId, int revisionNumber);
+
+
+    boolean existsByDocument_Id(Long documentId);
+
+
+    /* =========================================================
+       BLOB HASHES HELD BY A DOCUMENT (DELETE)
+    ========================================================= */
+    @Query("""
+        SELECT r.contentHash FROM DocumentRevision r
+        WHERE r.document.id = :documentId
+    """)
+    List<String> findContentHashes(@Param("documentId") Long documentId);
+
+
+    /* =========================================================
+       PRUNE OLD REVISIONS (RETENTION POLICY)
+       Never touches a document's newest revision. Returns the
+       hashes whose references have to be released.
+    ========================================================= */
+    @Query(value = """
+        DELETE FROM document_revisions
+        WHERE id IN (
+            SELECT id FROM (
+                SELECT r.id,
+                       r.created_at,
+                       ROW_NUMBER() OVER (
+                           PARTITION BY r.document_id
+                           ORDER BY r.revision_number DESC
+                       ) AS position
+                FROM document_revisions r
+            ) ranked
+            WHERE ranked.position > 1
+              AND (
+                    (:keepLatest > 0 AND ranked.position > :keepLatest)
+                 OR (ranked.created_at < :createdBefore)
+              )
+            LIMIT :limit
+        )
+        RETURNING content_hash
+    """, nativeQuery = true)
+    List<String> deleteExpired(
+            @Param("keepLatest") int keepLatest,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("limit") int limit
+    );
+}
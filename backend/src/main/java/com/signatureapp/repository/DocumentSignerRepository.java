@@ -1,12 +1,16 @@
 package com.signatureapp.repository;
 
 import com.signatureapp.model.DocumentSigner;
+import com.signatureapp.model.Emails;
 import com.signatureapp.model.SignerStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,17 +24,17 @@ public interface DocumentSignerRepository extends JpaRepository<DocumentSigner,
 
 
     /* =========================================================
-       SAFE FIND SIGNER BY DOCUMENT + EMAIL
-       (TRIM + LOWER to avoid whitespace/case issues)
+       FIND SIGNER BY DOCUMENT + EMAIL
+       Emails are stored canonical, so the argument is
+       canonicalized and compared as-is (unique index).
     ========================================================= */
-    @Query("""
-        SELECT ds FROM DocumentSigner ds
-        WHERE ds.document.id = :docId
-        AND LOWER(TRIM(ds.signerEmail)) = LOWER(TRIM(:email))
-    """)
-    Optional<DocumentSigner> findSigner(
-            @Param("docId") Long documentId,
-            @Param("email") String email
+    default Optional<DocumentSigner> findSigner(Long documentId, String email) {
+        return findByDocument_IdAndSignerEmail(documentId, Emails.canonical(email));
+    }
+
+    Optional<DocumentSigner> findByDocument_IdAndSignerEmail(
+            Long documentId,
+            String signerEmail
     );
 
 
@@ -69,4 +73,137 @@ public interface DocumentSignerRepository extends JpaRepository<DocumentSigner,
             Long documentId,
             SignerStatus status
     );
-}
\ No newline at end of file
+
+
+    /* =========================================================
+       SIGNER PROGRESS FOR A PAGE OF DOCUMENTS
+       One query per listing page, whatever its size
+    ========================================================= */
+
+    /**
+     * Row of a document's signer progress.
+     */
+    interface SignerProgress {
+        Long getDocumentId();
+        int getSigningOrder();
+        String getSignerEmail();
+        SignerStatus getStatus();
+        LocalDateTime getSignedAt();
+    }
+
+    @Query("""
+        SELECT ds.document.id AS documentId, ds.signingOrder AS signingOrder,
+               ds.signerEmail AS signerEmail, ds.status AS status,
+               ds.signedAt AS signedAt
+        FROM DocumentSigner ds
+        WHERE ds.document.id IN :documentIds
+        ORDER BY ds.document.id, ds.signingOrder
+    """)
+    List<SignerProgress> findProgress(@Param("documentIds") Collection<Long> documentIds);
+
+
+    /* =========================================================
+       CURRENT STATUS ONLY (NO ENTITY LOAD)
+    ========================================================= */
+    @Query("SELECT ds.status FROM DocumentSigner ds WHERE ds.id = :id")
+    Optional<SignerStatus> findStatusById(@Param("id") Long id);
+
+
+    /* =========================================================
+       ADVANCE WORKFLOW IN ONE STATEMENT
+       1. mark the signer SIGNED (only if still PENDING)
+       2. promote the next WAITING signer to PENDING
+       3. mark the document SIGNED if nobody is left to sign
+       4. move the turn flag (and final status) in the inbox
+       Sub-statements see the rows as they were before the
+       statement, hence the "other than this signer" check.
+       Not @Modifying: it returns the row counts as one row.
+    ========================================================= */
+
+    /**
+     * Rows changed by {@link #advance}.
+     */
+    interface Transition {
+        long getSigned();
+        long getPromoted();
+        long getCompleted();
+    }
+
+    @Query(value = """
+        WITH signed AS (
+            UPDATE document_signers
+            SET status = 'SIGNED', signed_at = :now, version = version + 1
+            WHERE id = :signerId
+              AND document_id = :documentId
+              AND status = 'PENDING'
+            RETURNING id
+        ),
+        promoted AS (
+            UPDATE document_signers
+            SET status = 'PENDING', version = version + 1
+            WHERE id = (
+                SELECT s.id FROM document_signers s
+                WHERE s.document_id = :documentId
+                  AND s.status = 'WAITING'
+                  AND EXISTS (SELECT 1 FROM signed)
+                ORDER BY s.signing_order
+                LIMIT 1
+            )
+            RETURNING signer_email
+        ),
+        completed AS (
+            UPDATE documents
+            SET status = 'SIGNED',
+                signed_at = :now,
+                signed_by = (SELECT u.id FROM users u WHERE u.email = :signerEmail),
+                version = version + 1
+            WHERE id = :documentId
+              AND EXISTS (SELECT 1 FROM signed)
+              AND NOT EXISTS (SELECT 1 FROM promoted)
+              AND NOT EXISTS (
+                  SELECT 1 FROM document_signers s
+                  WHERE s.document_id = :documentId
+                    AND s.status = 'PENDING'
+                    AND s.id <> :signerId
+              )
+            RETURNING id
+        ),
+        inbox AS (
+            UPDATE user_document_inbox i
+            SET my_turn = i.user_email IN (SELECT signer_email FROM promoted),
+                status = CASE WHEN EXISTS (SELECT 1 FROM completed)
+                              THEN 'SIGNED' ELSE i.status END,
+                updated_at = :now
+            WHERE i.document_id = :documentId
+              AND EXISTS (SELECT 1 FROM signed)
+            RETURNING i.id
+        )
+        SELECT (SELECT COUNT(*) FROM signed)    AS "signed",
+               (SELECT COUNT(*) FROM promoted)  AS "promoted",
+               (SELECT COUNT(*) FROM completed) AS "completed"
+    """, nativeQuery = true)
+    Transition advance(
+            @Param("documentId") Long documentId,
+            @Param("signerId") Long signerId,
+            @Param("signerEmail") String signerEmail,
+            @Param("now") LocalDateTime now
+    );
+
+
+    /* =========================================================
+       ONE-OFF: CANONICALIZE STORED EMAILS
+       Skips rows whose canonical form would collide.
+    ========================================================= */
+    @Modifying
+    @Query(value = """
+        UPDATE document_signers s
+        SET signer_email = LOWER(TRIM(s.signer_email))
+        WHERE s.signer_email <> LOWER(TRIM(s.signer_email))
+          AND NOT EXISTS (
+              SELECT 1 FROM document_signers o
+              WHERE o.document_id = s.document_id
+                AND o.signer_email = LOWER(TRIM(s.signer_email))
+          )
+    """, nativeQuery = true)
+    int canonicalizeEmails();
+}
@@ -0,0 +1,108 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.DocumentStatus;
+import com.signatureapp.model.InboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InboxRepository extends JpaRepository<InboxEntry, Long> {
+
+    /* =========================================================
+       LISTING (KEYSET PAGE, NO ENTITY HYDRATION)
+       One range scan on (user_email, uploaded_at, document_id)
+    ========================================================= */
+
+    /**
+     * Row of the document listing.
+     */
+    interface InboxSummary {
+        Long getDocumentId();
+        String getFileName();
+        DocumentStatus getStatus();
+        LocalDateTime getUploadedAt();
+    }
+
+    @Query("""
+        SELECT i.document.id AS documentId, i.fileName AS fileName,
+               i.status AS status, i.uploadedAt AS uploadedAt
+        FROM InboxEntry i
+        WHERE i.userEmail = :email
+          AND i.status IN :statuses
+          AND (i.uploadedAt < :beforeAt
+               OR (i.uploadedAt = :beforeAt AND i.document.id < :beforeId))
+        ORDER BY i.uploadedAt DESC, i.document.id DESC
+    """)
+    List<InboxSummary> findPage(
+            @Param("email") String email,
+            @Param("statuses") Collection<DocumentStatus> statuses,
+            @Param("beforeAt") LocalDateTime beforeAt,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+
+    /* =========================================================
+       "WAITING ON ME" COUNT
+    ========================================================= */
+    long countByUserEmailAndMyTurnTrue(String userEmail);
+
+
+    /* =========================================================
+       DOCUMENT DELETED
+    ========================================================= */
+    @Modifying
+    @Query("DELETE FROM InboxEntry i WHERE i.document.id = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+
+
+    /* =========================================================
+       ONE-OFF: BACKFILL DOCUMENTS CREATED BEFORE THE INBOX
+       One row per (user, document); an uploader who is also a
+       signer keeps the OWNER role and the signer's turn flag.
+    ========================================================= */
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_document_inbox
+            (id, user_email, document_id, role, my_turn, status, file_name, uploaded_at, updated_at)
+        SELECT nextval('user_document_inbox_seq'), y.*
+        FROM (
+        SELECT DISTINCT ON (x.user_email, x.document_id)
+               x.user_email, x.document_id, x.role, x.my_turn,
+               x.status, x.file_name, x.uploaded_at, CAST(:now AS timestamp)
+        FROM (
+            SELECT u.email AS user_email, d.id AS document_id, 'OWNER' AS role,
+                   EXISTS (
+                       SELECT 1 FROM document_signers s
+                       WHERE s.document_id = d.id
+                         AND s.signer_email = u.email
+                         AND s.status = 'PENDING'
+                   ) AS my_turn,
+                   d.status, d.file_name, d.uploaded_at
+            FROM documents d
+            JOIN users u ON u.id = d.uploaded_by
+            UNION ALL
+            SELECT s.signer_email, d.id, 'SIGNER',
+                   s.status = 'PENDING',
+                   d.status, d.file_name, d.uploaded_at
+            FROM document_signers s
+            JOIN documents d ON d.id = s.document_id
+        ) x
+        WHERE NOT EXISTS (
+            SELECT 1 FROM user_document_inbox i
+            WHERE i.document_id = x.document_id
+        )
+        ORDER BY x.user_email, x.document_id, x.role
+        ) y
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int backfill(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,106 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.SignJob;
+import com.signatureapp.model.SignJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SignJobRepository extends JpaRepository<SignJob, Long> {
+
+    /* =========================================================
+       FETCH JOB SCOPED TO DOCUMENT
+    ========================================================= */
+    Optional<SignJob> findByIdAndDocument_Id(Long id, Long documentId);
+
+
+    /* =========================================================
+       OLDEST JOBS BY STATUS (DISPATCH / RECOVERY)
+    ========================================================= */
+    @Query("""
+        SELECT j.id FROM SignJob j
+        WHERE j.status = :status
+        ORDER BY j.createdAt ASC
+    """)
+    List<Long> findIdsByStatus(
+            @Param("status") SignJobStatus status,
+            Pageable pageable
+    );
+
+
+    /* =========================================================
+       CLAIM JOB (QUEUED → RUNNING)
+       Only one worker across all nodes wins the update.
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE SignJob j
+        SET j.status = com.signatureapp.model.SignJobStatus.RUNNING,
+            j.startedAt = :now
+        WHERE j.id = :id
+          AND j.status = com.signatureapp.model.SignJobStatus.QUEUED
+    """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+
+    /* =========================================================
+       FINISH JOB (RUNNING → COMPLETED / FAILED)
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE SignJob j
+        SET j.status = :status,
+            j.errorMessage = :error,
+            j.finishedAt = :now
+        WHERE j.id = :id
+    """)
+    int finish(
+            @Param("id") Long id,
+            @Param("status") SignJobStatus status,
+            @Param("error") String error,
+            @Param("now") LocalDateTime now
+    );
+
+
+    /* =========================================================
+       REQUEUE STALE JOBS (WORKER DIED MID-JOB)
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE SignJob j
+        SET j.status = com.signatureapp.model.SignJobStatus.QUEUED,
+            j.startedAt = null
+        WHERE j.status = com.signatureapp.model.SignJobStatus.RUNNING
+          AND j.startedAt < :before
+    """)
+    int requeueStale(@Param("before") LocalDateTime before);
+
+
+    /* =========================================================
+       RELEASE JOB (RUNNING → QUEUED)
+       Worker could not run it now (e.g. PDF budget exhausted);
+       the poller hands it out again later.
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE SignJob j
+        SET j.status = com.signatureapp.model.SignJobStatus.QUEUED,
+            j.startedAt = null
+        WHERE j.id = :id
+          AND j.status = com.signatureapp.model.SignJobStatus.RUNNING
+    """)
+    int release(@Param("id") Long id);
+}
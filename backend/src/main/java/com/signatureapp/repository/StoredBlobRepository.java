@@ -0,0 +1,86 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    /* =========================================================
+       INSERT BLOB OR ADD A REFERENCE (ATOMIC UPSERT)
+       Concurrent identical uploads end up on the same row.
+    ========================================================= */
+    @Modifying
+    @Query(value = """
+        INSERT INTO blobs (hash, size, ref_count, created_at)
+        VALUES (:hash, :size, 1, :now)
+        ON CONFLICT (hash) DO UPDATE
+        SET ref_count = blobs.ref_count + 1,
+            released_at = NULL
+    """, nativeQuery = true)
+    int upsertReference(
+            @Param("hash") String hash,
+            @Param("size") long size,
+            @Param("now") LocalDateTime now
+    );
+
+
+    /* =========================================================
+       ADD A REFERENCE TO EXISTING CONTENT
+       Also revives content that is released but not yet collected.
+    ========================================================= */
+    @Modifying
+    @Query("""
+        UPDATE StoredBlob b
+        SET b.refCount = b.refCount + 1,
+            b.releasedAt = null
+        WHERE b.hash = :hash
+    """)
+    int addReference(@Param("hash") String hash);
+
+
+    /* =========================================================
+       DROP A REFERENCE
+    ========================================================= */
+    @Modifying
+    @Query(value = """
+        UPDATE blobs
+        SET ref_count = ref_count - 1,
+            released_at = CASE WHEN ref_count = 1 THEN :now ELSE released_at END
+        WHERE hash = :hash
+          AND ref_count > 0
+    """, nativeQuery = true)
+    int dropReference(
+            @Param("hash") String hash,
+            @Param("now") LocalDateTime now
+    );
+
+
+    /* =========================================================
+       DELETE UNREFERENCED BLOBS (GARBAGE COLLECTION)
+       Returns the deleted hashes; row locks are held until the
+       surrounding transaction ends.
+    ========================================================= */
+    @Query(value = """
+        DELETE FROM blobs
+        WHERE hash IN (
+            SELECT hash FROM blobs
+            WHERE ref_count = 0
+              AND released_at < :before
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING hash
+    """, nativeQuery = true)
+    List<String> deleteUnreferenced(
+            @Param("before") LocalDateTime before,
+            @Param("limit") int limit
+    );
+}
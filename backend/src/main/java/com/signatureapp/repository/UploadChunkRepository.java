@@ -0,0 +1,55 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, Long> {
+
+    /* =========================================================
+       RECEIVED CHUNK INDEXES (ORDERED)
+    ========================================================= */
+    @Query("""
+        SELECT c.chunkIndex FROM UploadChunk c
+        WHERE c.sessionId = :sessionId
+        ORDER BY c.chunkIndex ASC
+    """)
+    List<Integer> findChunkIndexes(@Param("sessionId") String sessionId);
+
+
+    long countBySessionId(String sessionId);
+
+
+    /* =========================================================
+       RECORD CHUNK (IDEMPOTENT ON RETRY)
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO upload_chunks (session_id, chunk_index, size, sha256, received_at)
+        VALUES (:sessionId, :chunkIndex, :size, :sha256, :now)
+        ON CONFLICT (session_id, chunk_index) DO UPDATE
+        SET size = EXCLUDED.size,
+            sha256 = EXCLUDED.sha256,
+            received_at = EXCLUDED.received_at
+    """, nativeQuery = true)
+    int record(
+            @Param("sessionId") String sessionId,
+            @Param("chunkIndex") int chunkIndex,
+            @Param("size") int size,
+            @Param("sha256") String sha256,
+            @Param("now") LocalDateTime now
+    );
+
+
+    @Transactional
+    void deleteBySessionId(String sessionId);
+}
@@ -0,0 +1,63 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.UploadSession;
+import com.signatureapp.model.UploadSessionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    /* =========================================================
+       SECURITY: FETCH SESSION BY ID + OWNER
+    ========================================================= */
+    Optional<UploadSession> findByIdAndUploaderEmail(String id, String uploaderEmail);
+
+
+    /* =========================================================
+       FETCH + ROW LOCK (CHUNK WRITE)
+       Serializes chunk writes with "complete"
+    ========================================================= */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> lockById(@Param("id") String id);
+
+
+    /* =========================================================
+       EXPIRED SESSIONS (CLEANUP)
+    ========================================================= */
+    List<UploadSession> findTop100ByStatusInAndExpiresAtBefore(
+            Collection<UploadSessionStatus> statuses,
+            LocalDateTime now
+    );
+
+
+    /* =========================================================
+       CONDITIONAL STATUS CHANGE
+       Lets exactly one concurrent "complete" call win.
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE UploadSession s
+        SET s.status = :to
+        WHERE s.id = :id
+          AND s.status = :from
+    """)
+    int markStatus(
+            @Param("id") String id,
+            @Param("from") UploadSessionStatus from,
+            @Param("to") UploadSessionStatus to
+    );
+}
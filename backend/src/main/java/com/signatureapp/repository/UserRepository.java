@@ -2,6 +2,8 @@ package com.signatureapp.repository;
 
 import com.signatureapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
@@ -10,4 +12,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /* =========================================================
+       ONE-OFF: CANONICALIZE STORED EMAILS
+       Skips rows whose canonical form is already taken.
+    ========================================================= */
+    @Modifying
+    @Query(value = """
+        UPDATE users u
+        SET email = LOWER(TRIM(u.email))
+        WHERE u.email <> LOWER(TRIM(u.email))
+          AND NOT EXISTS (
+              SELECT 1 FROM users o
+              WHERE o.email = LOWER(TRIM(u.email))
+          )
+    """, nativeQuery = true)
+    int canonicalizeEmails();
 }
@@ -0,0 +1,70 @@
+package com.signatureapp.repository;
+
+import com.signatureapp.model.UserSignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserSignatureRepository extends JpaRepository<UserSignature, Long> {
+
+    /**
+     * Metadata only; the image bytes are not selected.
+     */
+    interface Summary {
+        Long getId();
+        String getName();
+        int getWidth();
+        int getHeight();
+        int getSize();
+        LocalDateTime getCreatedAt();
+    }
+
+    /* =========================================================
+       LIST USER'S SIGNATURES (NEWEST FIRST)
+    ========================================================= */
+    List<Summary> findByUser_EmailOrderByCreatedAtDesc(String email);
+
+
+    long countByUser_Email(String email);
+
+
+    /* =========================================================
+       DELETE (OWNER ONLY, IMAGE BYTES NOT LOADED)
+    ========================================================= */
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM UserSignature s
+            WHERE s.id = :id
+              AND s.user.id IN (SELECT u.id FROM User u WHERE u.email = :email)
+            """)
+    int deleteOwned(@Param("id") Long id, @Param("email") String email);
+
+
+    /* =========================================================
+       HASH ONLY (CACHE LOOKUP, IMAGE BYTES NOT LOADED)
+    ========================================================= */
+    @Query("""
+            SELECT s.sha256 FROM UserSignature s
+            WHERE s.id = :id AND s.user.email = :email
+            """)
+    Optional<String> findHash(@Param("id") Long id, @Param("email") String email);
+
+
+    /* =========================================================
+       IMAGE BYTES (CACHE MISS / DOWNLOAD)
+    ========================================================= */
+    @Query("""
+            SELECT s.imageData FROM UserSignature s
+            WHERE s.id = :id
+            """)
+    Optional<byte[]> findImageData(@Param("id") Long id);
+}
@@ -1,5 +1,6 @@
 package com.signatureapp.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,6 +35,10 @@ public class SecurityConfig {
                         // Auth APIs public
                         .requestMatchers("/api/auth/**").permitAll()
 
+                        // Second pass of a streamed response (audit export);
+                        // the request itself was authorized already
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Documents require authentication
                         .requestMatchers("/api/documents/**").authenticated()
 
@@ -1,14 +1,17 @@
 package com.signatureapp.service;
 
-import com.signatureapp.dto.AuditResponse;
+import com.signatureapp.audit.AuditExportFormat;
+import com.signatureapp.dto.AuditHistoryResponse;
 import com.signatureapp.model.AuditAction;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 /**
  * Service responsible for:
  *  - Logging audit events
- *  - Fetching audit history (paginated)
+ *  - Fetching audit history (keyset pages)
+ *  - Exporting audit rows of a time range (streamed)
  */
 public interface AuditService {
 
@@ -31,15 +34,38 @@ public interface AuditService {
 
 
     /* =========================================================
-       FETCH AUDIT HISTORY (PAGINATED)
+       FETCH AUDIT HISTORY (KEYSET PAGES)
     ========================================================= */
 
     /**
-     * Retrieve paginated audit history for a document.
+     * Retrieve one page of a document's audit history, latest first.
      *
      * @param documentId Document ID
-     * @param pageable   Pagination + sorting configuration
-     * @return Page of AuditResponse DTO
+     * @param after      nextCursor of the previous page (null = first page)
+     * @param limit      Page size (null = default, capped)
+     * @return Page items and the cursor of the next page
+     */
+    AuditHistoryResponse getAuditHistory(Long documentId, String after, Integer limit);
+
+
+    /* =========================================================
+       EXPORT (STREAMED)
+    ========================================================= */
+
+    /**
+     * Stream every audit row of a time range, oldest first.
+     * Only for users listed in audit.export.allowed-users.
+     *
+     * @param from      Start (inclusive)
+     * @param to        End (exclusive)
+     * @param format    CSV or NDJSON
+     * @param gzip      Compress the output
+     * @param userEmail Requesting user
+     * @return Body that writes the rows when the response is sent
      */
-    Page<AuditResponse> getAuditHistory(Long documentId, Pageable pageable);
-}
\ No newline at end of file
+    StreamingResponseBody exportAudit(LocalDateTime from,
+                                      LocalDateTime to,
+                                      AuditExportFormat format,
+                                      boolean gzip,
+                                      String userEmail);
+}
@@ -1,31 +1,77 @@
 package com.signatureapp.service;
 
+import com.signatureapp.audit.AuditAppender;
+import com.signatureapp.audit.AuditDeduplicator;
+import com.signatureapp.audit.AuditEvent;
+import com.signatureapp.audit.AuditExportFormat;
+import com.signatureapp.audit.AuditExporter;
+import com.signatureapp.dto.AuditHistoryResponse;
 import com.signatureapp.dto.AuditResponse;
 import com.signatureapp.model.AuditAction;
-import com.signatureapp.model.AuditLog;
-import com.signatureapp.model.Document;
+import com.signatureapp.model.Emails;
 import com.signatureapp.repository.AuditRepository;
 import com.signatureapp.repository.DocumentRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
 
     private final AuditRepository auditRepository;
     private final DocumentRepository documentRepository;
+    private final AuditAppender auditAppender;
+    private final AuditDeduplicator auditDeduplicator;
+
+    private final AuditExporter auditExporter;
+
+    @Value("${audit.export.allowed-users:}")
+    private Set<String> exportUsers;
+
+    @Value("${audit.export.max-concurrent:2}")
+    private int maxConcurrentExports;
+
+    private Semaphore exportPermits;
+
+    @Value("${audit.history.default-limit:20}")
+    private int defaultHistoryLimit;
+
+    @Value("${audit.history.max-limit:100}")
+    private int maxHistoryLimit;
+
+    @PostConstruct
+    void init() {
+        exportPermits = new Semaphore(maxConcurrentExports);
+    }
 
     /* =========================================================
-       LOG ACTION (SAFE + DUPLICATE PROTECTION)
+       LOG ACTION (WRITE-BEHIND + DUPLICATE PROTECTION)
+       Checked for duplicates and handed to the appender once
+       the caller's transaction commits (right away outside a
+       transaction): a rolled-back action neither logs nor
+       hides the retry. Stored in the next batch, not in the
+       request.
     ========================================================= */
     @Override
-    @Transactional
     public void log(Long documentId,
                     AuditAction action,
                     String performedBy,
@@ -33,54 +79,142 @@ public class AuditServiceImpl implements AuditService {
 
         performedBy = performedBy.trim().toLowerCase();
 
-        // 🔥 Fetch document safely
-        Document document = documentRepository.findById(documentId)
-                .orElseThrow(() -> new RuntimeException("Document not found"));
+        AuditEvent event = new AuditEvent(
+                UUID.randomUUID().toString(),
+                documentId,
+                action,
+                performedBy,
+                ipAddress,
+                LocalDateTime.now()
+        );
 
-        // 🔥 Prevent duplicate DOWNLOAD logs within 5 seconds
-        if (action == AuditAction.DOCUMENT_DOWNLOADED) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            appendUnlessDuplicate(event);
+                        }
+                    });
+        } else {
+            appendUnlessDuplicate(event);
+        }
+    }
 
-            boolean recentlyLogged =
-                    auditRepository.existsByDocument_IdAndActionAndPerformedByAndPerformedAtAfter(
-                            documentId,
-                            action,
-                            performedBy,
-                            LocalDateTime.now().minusSeconds(5)
-                    );
+    private void appendUnlessDuplicate(AuditEvent event) {
 
-            if (recentlyLogged) {
-                return; // Skip duplicate log
-            }
+        // 🔥 Prevent duplicate DOWNLOAD logs within the window
+        if (!auditDeduplicator.shouldLog(
+                event.documentId(), event.action(), event.performedBy())) {
+            return; // Skip duplicate log
         }
 
-        AuditLog auditLog = AuditLog.builder()
-                .document(document)
-                .action(action)
-                .performedBy(performedBy)
-                .ipAddress(ipAddress)
-                .performedAt(LocalDateTime.now())
-                .build();
-
-        auditRepository.save(auditLog);
+        auditAppender.append(event);
     }
 
     /* =========================================================
-       FETCH AUDIT HISTORY (PAGINATED)
+       FETCH AUDIT HISTORY (KEYSET PAGES)
+       No COUNT and no OFFSET: each page starts where the
+       cursor left off.
     ========================================================= */
     @Override
     @Transactional(readOnly = true)
-    public Page<AuditResponse> getAuditHistory(Long documentId, Pageable pageable) {
-
-        documentRepository.findById(documentId)
-                .orElseThrow(() -> new RuntimeException("Document not found"));
-
-        return auditRepository
-                .findByDocument_IdOrderByPerformedAtDesc(documentId, pageable)
-                .map(log -> AuditResponse.builder()
-                        .action(log.getAction().name())
-                        .performedBy(log.getPerformedBy())
-                        .ipAddress(log.getIpAddress())
-                        .performedAt(log.getPerformedAt())
-                        .build());
+    public AuditHistoryResponse getAuditHistory(Long documentId, String after, Integer limit) {
+
+        if (!documentRepository.existsById(documentId)) {
+            throw new RuntimeException("Document not found");
+        }
+
+        int pageSize = limit == null
+                ? defaultHistoryLimit
+                : Math.max(1, Math.min(limit, maxHistoryLimit));
+
+        KeysetCursor cursor = KeysetCursor.decode(after);
+
+        // One extra row tells whether another page follows
+        List<AuditRepository.AuditEntry> rows = auditRepository.findPage(
+                documentId, cursor.at(), cursor.id(), Limit.of(pageSize + 1));
+
+        List<AuditRepository.AuditEntry> page =
+                rows.subList(0, Math.min(pageSize, rows.size()));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            AuditRepository.AuditEntry last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getPerformedAt(), last.getId()).encode();
+        }
+
+        return AuditHistoryResponse.builder()
+                .items(page.stream()
+                        .map(row -> AuditResponse.builder()
+                                .action(row.getAction().name())
+                                .performedBy(row.getPerformedBy())
+                                .ipAddress(row.getIpAddress())
+                                .performedAt(row.getPerformedAt())
+                                .build())
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /* =========================================================
+       EXPORT (STREAMED)
+       Checked here, before the response starts; rows are
+       written later, on the async request thread. The permit
+       is taken by the body itself, so a body that never runs
+       (client gone, timed out first) never holds one. Nothing
+       is written before it is taken, so a refusal there is
+       still a plain 429.
+    ========================================================= */
+    @Override
+    public StreamingResponseBody exportAudit(LocalDateTime from,
+                                             LocalDateTime to,
+                                             AuditExportFormat format,
+                                             boolean gzip,
+                                             String userEmail) {
+
+        String email = Emails.canonical(userEmail);
+
+        if (exportUsers.stream().map(Emails::canonical).noneMatch(email::equals)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Audit export not allowed");
+        }
+
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+
+        // Early answer when clearly busy; the body decides for real
+        if (exportPermits.availablePermits() == 0) {
+            throw tooManyExports();
+        }
+
+        return out -> {
+
+            // Each export holds a pooled connection until it is done
+            if (!exportPermits.tryAcquire()) {
+                throw tooManyExports();
+            }
+
+            try {
+                if (gzip) {
+                    try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                        auditExporter.export(from, to, format, compressed);
+                        compressed.finish();
+                    }
+                } else {
+                    auditExporter.export(from, to, format, out);
+                }
+            } catch (IOException e) {
+                // Client went away: nothing left to answer
+                log.debug("Audit export aborted: {}", e.getMessage());
+            } finally {
+                exportPermits.release();
+            }
+        };
+    }
+
+    private ResponseStatusException tooManyExports() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                "Too many audit exports running, try again later");
     }
-}
\ No newline at end of file
+}
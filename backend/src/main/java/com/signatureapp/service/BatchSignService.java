@@ -0,0 +1,28 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.BatchSignRequest;
+import com.signatureapp.dto.BatchSignResponse;
+
+/**
+ * Service responsible for signing many documents with one
+ * signature in a single request.
+ *
+ * Each document succeeds or fails on its own; the response
+ * reports the outcome per document.
+ */
+public interface BatchSignService {
+
+    /* =========================================================
+       SIGN BATCH
+    ========================================================= */
+
+    /**
+     * Decode the signature once, stamp all documents in parallel
+     * and commit the signer state changes in grouped transactions.
+     *
+     * @param request   Shared signature image and per-document items
+     * @param userEmail Authenticated signer email
+     * @return Outcome per document
+     */
+    BatchSignResponse signBatch(BatchSignRequest request, String userEmail);
+}
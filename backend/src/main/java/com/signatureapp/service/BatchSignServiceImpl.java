@@ -0,0 +1,306 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.BatchSignItem;
+import com.signatureapp.dto.BatchSignRequest;
+import com.signatureapp.dto.BatchSignResponse;
+import com.signatureapp.pdf.SignatureImage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchSignServiceImpl implements BatchSignService {
+
+    private static final String SIGNED = "SIGNED";
+    private static final String FAILED = "FAILED";
+
+    private final SigningWorkflow signingWorkflow;
+    private final SignatureLibraryService signatureLibraryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor batchSigningExecutor;
+    private final DocumentLocks documentLocks;
+
+    @Value("${signing.batch.max-items:200}")
+    private int maxItems;
+
+    /**
+     * Signer state changes committed per transaction
+     */
+    @Value("${signing.batch.commit-size:25}")
+    private int commitSize;
+
+    /**
+     * Document prepared and stamped, waiting for its commit.
+     */
+    private record Stamped(
+            int index,
+            SigningWorkflow.SigningTicket ticket,
+            SigningWorkflow.SignedContent content
+    ) {
+    }
+
+    /* =========================================================
+       UTILITY METHODS
+    ========================================================= */
+
+    private String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    private String errorMessage(Throwable e) {
+
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+
+        if (e instanceof ResponseStatusException status) {
+            return status.getReason();
+        }
+
+        return e.getMessage() == null
+                ? e.getClass().getSimpleName()
+                : e.getMessage();
+    }
+
+    /* =========================================================
+       SIGN BATCH
+    ========================================================= */
+
+    @Override
+    public BatchSignResponse signBatch(BatchSignRequest request, String userEmail) {
+
+        String email = normalize(userEmail);
+        List<BatchSignItem> items = request.getItems();
+
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At least one document is required");
+        }
+
+        if (items.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch can sign at most " + maxItems + " documents");
+        }
+
+        // Decoded once, imported into every document as-is
+        SignatureImage shared = sharedSignature(request, email);
+
+        BatchSignResponse.Result[] results = new BatchSignResponse.Result[items.size()];
+
+        /* ---------- prepare + stamp, in parallel ---------- */
+
+        Set<Long> seen = new HashSet<>();
+        List<CompletableFuture<Stamped>> stamping = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+
+            BatchSignItem item = items.get(i);
+            int index = i;
+
+            if (item.getDocumentId() == null || !seen.add(item.getDocumentId())) {
+                results[i] = new BatchSignResponse.Result(item.getDocumentId(), FAILED,
+                        item.getDocumentId() == null
+                                ? "Document ID is required"
+                                : "Document appears more than once in the batch");
+                continue;
+            }
+
+            stamping.add(CompletableFuture.supplyAsync(
+                    () -> stamp(index, item, shared, email),
+                    batchSigningExecutor));
+        }
+
+        try {
+            List<Stamped> stamped = new ArrayList<>();
+
+            for (CompletableFuture<Stamped> future : stamping) {
+                try {
+                    stamped.add(future.join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof ItemFailure failure) {
+                        results[failure.index] = new BatchSignResponse.Result(
+                                items.get(failure.index).getDocumentId(), FAILED,
+                                errorMessage(failure.getCause()));
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+
+            /* ---------- commit in groups ---------- */
+
+            // Row locks are taken in ID order, so overlapping
+            // batches cannot deadlock each other
+            stamped.sort(Comparator.comparing(entry -> entry.ticket().documentId()));
+
+            for (int from = 0; from < stamped.size(); from += commitSize) {
+                commitGroup(
+                        stamped.subList(from, Math.min(from + commitSize, stamped.size())),
+                        items, results);
+            }
+
+        } finally {
+            // Also waits for stamps still running when the join loop
+            // gave up, so no staged file outlives the request
+            for (CompletableFuture<Stamped> future : stamping) {
+                try {
+                    future.join().content().discard();
+                } catch (RuntimeException ignored) {
+                    // a failed stamp leaves nothing behind
+                }
+            }
+        }
+
+        int signed = (int) Arrays.stream(results)
+                .filter(result -> SIGNED.equals(result.getStatus()))
+                .count();
+
+        return BatchSignResponse.builder()
+                .total(items.size())
+                .signed(signed)
+                .failed(items.size() - signed)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private SignatureImage sharedSignature(BatchSignRequest request, String email) {
+
+        if (request.getSignatureId() != null) {
+            return signatureLibraryService.getPreparedSignature(
+                    request.getSignatureId(), email);
+        }
+
+        if (request.getSignatureImage() != null) {
+            return signingWorkflow.decodeSignature(request.getSignatureImage());
+        }
+
+        return null;
+    }
+
+    /* =========================================================
+       STAMP ONE DOCUMENT (POOL THREAD)
+    ========================================================= */
+
+    private Stamped stamp(
+            int index,
+            BatchSignItem item,
+            SignatureImage shared,
+            String email
+    ) {
+
+        try {
+            SignatureImage signature =
+                    item.getSignatureId() != null || item.getSignatureImage() != null
+                            ? signingWorkflow.resolveSignature(item, email)
+                            : shared;
+
+            if (signature == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Signature image is required");
+            }
+
+            // Same lock as a single signing of this document
+            return documentLocks.withLock(item.getDocumentId(), () -> {
+
+                SigningWorkflow.SigningTicket ticket =
+                        signingWorkflow.prepare(item.getDocumentId(), email, item);
+
+                return new Stamped(index, ticket,
+                        signingWorkflow.stamp(ticket, item, signature));
+            });
+
+        } catch (RuntimeException e) {
+            throw new ItemFailure(index, e);
+        }
+    }
+
+    /**
+     * Carries the item position out of the pool thread.
+     */
+    private static class ItemFailure extends RuntimeException {
+
+        private final int index;
+
+        ItemFailure(int index, RuntimeException cause) {
+            super(cause);
+            this.index = index;
+        }
+    }
+
+    /* =========================================================
+       COMMIT GROUP
+       Holds the document locks of the whole group (taken in a
+       fixed order by DocumentLocks), then commits it in one
+       transaction. If any document in it fails (e.g. another
+       signer got there first) the group is rolled back and its
+       documents are committed one by one, so a single failure
+       never costs the others their signature.
+    ========================================================= */
+
+    private void commitGroup(
+            List<Stamped> group,
+            List<BatchSignItem> items,
+            BatchSignResponse.Result[] results
+    ) {
+
+        List<Long> documentIds = group.stream()
+                .map(entry -> entry.ticket().documentId())
+                .toList();
+
+        try {
+            documentLocks.withLocks(documentIds,
+                    () -> commitLocked(group, items, results));
+
+        } catch (DocumentBusyException e) {
+            group.forEach(entry -> results[entry.index()] = new BatchSignResponse.Result(
+                    items.get(entry.index()).getDocumentId(), FAILED, errorMessage(e)));
+        }
+    }
+
+    private void commitLocked(
+            List<Stamped> group,
+            List<BatchSignItem> items,
+            BatchSignResponse.Result[] results
+    ) {
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    group.forEach(entry ->
+                            signingWorkflow.complete(entry.ticket(), entry.content())));
+
+            group.forEach(entry -> results[entry.index()] = new BatchSignResponse.Result(
+                    items.get(entry.index()).getDocumentId(), SIGNED, null));
+
+        } catch (RuntimeException groupFailure) {
+
+            log.debug("Batch group failed, retrying one by one: {}", groupFailure.getMessage());
+
+            for (Stamped entry : group) {
+
+                Long documentId = items.get(entry.index()).getDocumentId();
+
+                try {
+                    signingWorkflow.complete(entry.ticket(), entry.content());
+                    results[entry.index()] =
+                            new BatchSignResponse.Result(documentId, SIGNED, null);
+
+                } catch (RuntimeException e) {
+                    results[entry.index()] =
+                            new BatchSignResponse.Result(documentId, FAILED, errorMessage(e));
+                }
+            }
+        }
+    }
+}
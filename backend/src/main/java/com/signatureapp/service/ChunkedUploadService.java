@@ -0,0 +1,56 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.CreateUploadSessionRequest;
+import com.signatureapp.dto.UploadSessionResponse;
+
+import java.io.InputStream;
+
+/**
+ * Service responsible for resumable chunked uploads:
+ *  - Creating an upload session
+ *  - Receiving numbered, checksummed chunks (any order, retry-safe)
+ *  - Reporting which chunks have arrived
+ *  - Finalizing the session into a Document + its signers
+ */
+public interface ChunkedUploadService {
+
+    /**
+     * Start a session and reserve its staging file.
+     *
+     * @param request   File name, size, chunk size and signers
+     * @param userEmail Authenticated uploader email
+     * @return Session layout
+     */
+    UploadSessionResponse createSession(CreateUploadSessionRequest request, String userEmail);
+
+    /**
+     * Write one chunk at its offset and record it once its
+     * SHA-256 matches the checksum sent by the client.
+     *
+     * @param sessionId  Session ID
+     * @param chunkIndex Zero-based chunk number
+     * @param content    Raw chunk bytes
+     * @param sha256     Expected hex SHA-256 of the chunk
+     * @param userEmail  Authenticated uploader email
+     * @return Updated session state
+     */
+    UploadSessionResponse putChunk(
+            String sessionId,
+            int chunkIndex,
+            InputStream content,
+            String sha256,
+            String userEmail
+    );
+
+    /**
+     * Report which chunks have been received.
+     */
+    UploadSessionResponse getSession(String sessionId, String userEmail);
+
+    /**
+     * Turn a fully received session into a Document.
+     *
+     * @return Session state including the new document ID
+     */
+    UploadSessionResponse complete(String sessionId, String userEmail);
+}
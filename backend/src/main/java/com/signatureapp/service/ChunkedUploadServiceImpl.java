@@ -0,0 +1,422 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.CreateUploadSessionRequest;
+import com.signatureapp.dto.UploadSessionResponse;
+import com.signatureapp.model.UploadSession;
+import com.signatureapp.model.UploadSessionStatus;
+import com.signatureapp.repository.UploadChunkRepository;
+import com.signatureapp.repository.UploadSessionRepository;
+import com.signatureapp.storage.BlobStore;
+import com.signatureapp.storage.Hashing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadChunkRepository uploadChunkRepository;
+    private final DocumentService documentService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${upload.max-size:512MB}")
+    private DataSize maxUploadSize;
+
+    @Value("${upload.chunk.default-size:8MB}")
+    private DataSize defaultChunkSize;
+
+    @Value("${upload.chunk.min-size:256KB}")
+    private DataSize minChunkSize;
+
+    @Value("${upload.chunk.max-size:64MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${upload.chunk.session-ttl-hours:24}")
+    private long sessionTtlHours;
+
+    /* =========================================================
+       UTILITY METHODS
+    ========================================================= */
+
+    private String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    private UploadSession getSession(String sessionId, String userEmail, boolean mustBeOpen) {
+
+        UploadSession session = uploadSessionRepository
+                .findByIdAndUploaderEmail(sessionId, normalize(userEmail))
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Upload session not found"));
+
+        if (mustBeOpen && session.getStatus() == UploadSessionStatus.FAILED) {
+            throw new ResponseStatusException(
+                    HttpStatus.GONE, "Upload session failed, start a new upload");
+        }
+
+        if (mustBeOpen && session.getStatus() != UploadSessionStatus.OPEN) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Upload session is already completed");
+        }
+
+        return session;
+    }
+
+    private long expectedChunkSize(UploadSession session, int chunkIndex) {
+
+        long offset = (long) chunkIndex * session.getChunkSize();
+        return Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+
+        List<Integer> received =
+                uploadChunkRepository.findChunkIndexes(session.getId());
+
+        long receivedBytes = received.stream()
+                .mapToLong(index -> expectedChunkSize(session, index))
+                .sum();
+
+        return UploadSessionResponse.builder()
+                .sessionId(session.getId())
+                .fileName(session.getFileName())
+                .totalSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .status(session.getStatus().name())
+                .receivedChunks(received)
+                .receivedBytes(receivedBytes)
+                .documentId(session.getDocumentId())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    /* =========================================================
+       CREATE SESSION
+    ========================================================= */
+
+    @Override
+    @Transactional
+    public UploadSessionResponse createSession(
+            CreateUploadSessionRequest request,
+            String userEmail
+    ) {
+
+        long totalSize = request.getTotalSize();
+
+        if (totalSize > maxUploadSize.toBytes()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Upload exceeds the limit of " + maxUploadSize.toBytes() + " bytes");
+        }
+
+        long chunkSize = request.getChunkSize() == null
+                ? defaultChunkSize.toBytes()
+                : request.getChunkSize();
+
+        if (chunkSize < minChunkSize.toBytes() || chunkSize > maxChunkSize.toBytes()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Chunk size must be between " + minChunkSize.toBytes()
+                            + " and " + maxChunkSize.toBytes() + " bytes");
+        }
+
+        chunkSize = Math.min(chunkSize, totalSize);
+        int chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+
+        Path staging;
+        try {
+            // Pre-size the file so chunks can land at any offset
+            staging = blobStore.createStagingFile();
+            try (RandomAccessFile file = new RandomAccessFile(staging.toFile(), "rw")) {
+                file.setLength(totalSize);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create upload session", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        UploadSession session = UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .uploaderEmail(normalize(userEmail))
+                .fileName(request.getFileName())
+                .signerEmails(request.getSignerEmails().stream()
+                        .map(this::normalize)
+                        .toList())
+                .totalSize(totalSize)
+                .chunkSize((int) chunkSize)
+                .chunkCount(chunkCount)
+                .stagingPath(staging.toString())
+                .status(UploadSessionStatus.OPEN)
+                .createdAt(now)
+                .expiresAt(now.plusHours(sessionTtlHours))
+                .build();
+
+        uploadSessionRepository.save(session);
+
+        return toResponse(session);
+    }
+
+    /* =========================================================
+       PUT CHUNK
+       Streamed into a scratch file while hashed; no transaction
+       is open during the transfer. Only a chunk with the right
+       size and checksum is copied to its offset in the staging
+       file, so a failed retry never touches bytes already
+       recorded. The copy and the record happen under the session
+       row lock, after checking the session is still OPEN: a
+       "complete" either waits for them or makes them fail.
+    ========================================================= */
+
+    @Override
+    public UploadSessionResponse putChunk(
+            String sessionId,
+            int chunkIndex,
+            InputStream content,
+            String sha256,
+            String userEmail
+    ) {
+
+        UploadSession session = getSession(sessionId, userEmail, true);
+
+        if (chunkIndex < 0 || chunkIndex >= session.getChunkCount()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Chunk index must be between 0 and " + (session.getChunkCount() - 1));
+        }
+
+        if (sha256 == null || sha256.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Chunk checksum is required");
+        }
+
+        long expectedSize = expectedChunkSize(session, chunkIndex);
+        long offset = (long) chunkIndex * session.getChunkSize();
+
+        Path scratch = null;
+
+        try {
+            scratch = blobStore.createStagingFile();
+
+            String actual = receiveChunk(content, scratch, chunkIndex, expectedSize);
+
+            if (!actual.equalsIgnoreCase(sha256.trim())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Checksum mismatch for chunk " + chunkIndex);
+            }
+
+            Path verified = scratch;
+
+            transactionTemplate.executeWithoutResult(status -> {
+
+                UploadSession locked = uploadSessionRepository.lockById(sessionId)
+                        .orElseThrow(() -> new ResponseStatusException(
+                                HttpStatus.NOT_FOUND, "Upload session not found"));
+
+                if (locked.getStatus() != UploadSessionStatus.OPEN) {
+                    throw new ResponseStatusException(
+                            HttpStatus.CONFLICT, "Upload session is already completed");
+                }
+
+                copyToOffset(verified, Paths.get(locked.getStagingPath()), offset, expectedSize);
+
+                uploadChunkRepository.record(
+                        sessionId, chunkIndex, (int) expectedSize, actual, LocalDateTime.now());
+            });
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store chunk", e);
+
+        } finally {
+            if (scratch != null) {
+                deleteQuietly(scratch);
+            }
+        }
+
+        return toResponse(session);
+    }
+
+    /**
+     * Copy the request body to the scratch file, hashing it and
+     * enforcing the exact chunk size. Returns the hex SHA-256.
+     */
+    private String receiveChunk(InputStream content, Path scratch, int chunkIndex, long expectedSize)
+            throws IOException {
+
+        MessageDigest digest = Hashing.sha256();
+        long written = 0;
+
+        try (OutputStream out = Files.newOutputStream(scratch)) {
+
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+
+            while ((read = content.read(buffer)) != -1) {
+
+                if (written + read > expectedSize) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Chunk " + chunkIndex + " must be " + expectedSize + " bytes");
+                }
+
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        }
+
+        if (written != expectedSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Chunk " + chunkIndex + " must be " + expectedSize + " bytes");
+        }
+
+        return Hashing.hex(digest);
+    }
+
+    private void copyToOffset(Path source, Path staging, long offset, long size) {
+
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+
+            long copied = 0;
+            while (copied < size) {
+                long n = out.transferFrom(in.position(copied), offset + copied, size - copied);
+                if (n == 0) {
+                    throw new IOException("Scratch file shorter than the chunk");
+                }
+                copied += n;
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store chunk", e);
+        }
+    }
+
+    /* =========================================================
+       SESSION STATUS
+    ========================================================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public UploadSessionResponse getSession(String sessionId, String userEmail) {
+        return toResponse(getSession(sessionId, userEmail, false));
+    }
+
+    /* =========================================================
+       COMPLETE
+       The chunks already sit at their final offsets, so the file
+       is only read once (digest + PDF checks) and then moved.
+    ========================================================= */
+
+    @Override
+    public UploadSessionResponse complete(String sessionId, String userEmail) {
+
+        UploadSession session = getSession(sessionId, userEmail, true);
+
+        long received = uploadChunkRepository.countBySessionId(sessionId);
+
+        if (received != session.getChunkCount()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Missing chunks: received " + received
+                            + " of " + session.getChunkCount());
+        }
+
+        if (uploadSessionRepository.markStatus(sessionId,
+                UploadSessionStatus.OPEN, UploadSessionStatus.COMPLETED) == 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Upload session is already completed");
+        }
+
+        Path staging = Paths.get(session.getStagingPath());
+        Long documentId;
+
+        try {
+            documentId = documentService.createFromStagedFile(
+                    staging,
+                    session.getFileName(),
+                    session.getSignerEmails(),
+                    session.getUploaderEmail());
+
+        } catch (RuntimeException e) {
+
+            if (Files.exists(staging)) {
+                // Nothing consumed: the client can call complete again
+                uploadSessionRepository.markStatus(sessionId,
+                        UploadSessionStatus.COMPLETED, UploadSessionStatus.OPEN);
+                throw e;
+            }
+
+            // The file was moved into the store before the failure
+            uploadSessionRepository.markStatus(sessionId,
+                    UploadSessionStatus.COMPLETED, UploadSessionStatus.FAILED);
+
+            log.warn("Upload session {} failed after its file was stored: {}",
+                    sessionId, e.getMessage());
+
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Upload could not be completed and its data is gone, start a new upload", e);
+        }
+
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setDocumentId(documentId);
+        uploadSessionRepository.save(session);
+
+        // Identical content was already stored: staging copy not needed
+        deleteQuietly(staging);
+
+        return toResponse(session);
+    }
+
+    /* =========================================================
+       CLEANUP OF EXPIRED SESSIONS
+       Abandoned (OPEN) ones with their staging file, and the
+       bookkeeping of finished ones (the documents stay).
+    ========================================================= */
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${upload.chunk.cleanup-interval-ms:3600000}")
+    public void purgeExpiredSessions() {
+
+        List<UploadSession> expired = uploadSessionRepository
+                .findTop100ByStatusInAndExpiresAtBefore(
+                        EnumSet.allOf(UploadSessionStatus.class), LocalDateTime.now());
+
+        for (UploadSession session : expired) {
+            uploadChunkRepository.deleteBySessionId(session.getId());
+            uploadSessionRepository.delete(session);
+            deleteQuietly(Paths.get(session.getStagingPath()));
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete staging file {}: {}", file, e.getMessage());
+        }
+    }
+}
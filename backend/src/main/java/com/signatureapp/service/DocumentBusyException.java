@@ -0,0 +1,15 @@
+package com.signatureapp.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when another signing of the same document did not finish
+ * in time. Answered with 409; background work retries later.
+ */
+public class DocumentBusyException extends ResponseStatusException {
+
+    public DocumentBusyException() {
+        super(HttpStatus.CONFLICT, "Document is being signed, please retry");
+    }
+}
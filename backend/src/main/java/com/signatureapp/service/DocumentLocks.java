@@ -0,0 +1,121 @@
+package com.signatureapp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-document locks for this JVM.
+ *
+ * A document ID always maps to the same stripe, so two signings
+ * of one document run one after the other, while other documents
+ * (almost always on other stripes) keep signing in parallel.
+ * Memory is fixed: no lock objects are created per document.
+ *
+ * Only covers this node; SigningWorkflow.complete() also takes a
+ * row lock so the guarantee holds across nodes.
+ */
+@Component
+public class DocumentLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long waitMillis;
+
+    public DocumentLocks(
+            @Value("${signing.locks.stripes:256}") int stripeCount,
+            @Value("${signing.locks.wait-ms:30000}") long waitMillis
+    ) {
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Run work while holding the document's stripe.
+     *
+     * @throws DocumentBusyException if the document stays busy
+     *         for longer than the configured wait
+     */
+    public <T> T withLock(Long documentId, Supplier<T> work) {
+
+        ReentrantLock lock = stripes[stripe(documentId)];
+
+        acquire(lock);
+
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(Long documentId, Runnable work) {
+        withLock(documentId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run work while holding the stripes of all the documents.
+     * Stripes are taken in index order, so two callers locking
+     * overlapping sets cannot deadlock each other.
+     *
+     * @throws DocumentBusyException if one of the documents stays
+     *         busy for longer than the configured wait
+     */
+    public <T> T withLocks(Collection<Long> documentIds, Supplier<T> work) {
+
+        SortedSet<Integer> indexes = new TreeSet<>();
+        documentIds.forEach(documentId -> indexes.add(stripe(documentId)));
+
+        Deque<ReentrantLock> held = new ArrayDeque<>(indexes.size());
+
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                held.push(stripes[index]);
+            }
+
+            return work.get();
+
+        } finally {
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    public void withLocks(Collection<Long> documentIds, Runnable work) {
+        withLocks(documentIds, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private int stripe(Long documentId) {
+        return Math.floorMod(Long.hashCode(documentId), stripes.length);
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                throw new DocumentBusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Interrupted while waiting for the document");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.DocumentRevisionResponse;
+import com.signatureapp.model.Document;
+import com.signatureapp.storage.BlobRef;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+
+/**
+ * Immutable content revisions of a document.
+ *
+ * Content is never written in place: a signature stores a new
+ * blob, records it as the next revision and moves the document's
+ * current pointer with one compare-and-set update. Readers always
+ * stream a complete, stable revision file.
+ */
+public interface DocumentRevisionService {
+
+    /* =========================================================
+       CREATE
+    ========================================================= */
+
+    /**
+     * Record revision 1 for a newly saved document
+     * (created with currentRevision = 1).
+     * Takes over the reference the upload holds on the blob.
+     *
+     * @param document   Persisted document
+     * @param blob       Stored content
+     * @param createdBy  Uploader email
+     */
+    void recordInitial(Document document, BlobRef blob, String createdBy);
+
+
+    /**
+     * Record the next revision and switch the document to it,
+     * provided its current revision is still baseRevision.
+     * Must run inside the caller's transaction. Only the row is
+     * updated; the document entity passed in is left untouched.
+     *
+     * @param document      Managed document
+     * @param baseRevision  Revision the new content was derived from (0 = none)
+     * @param blob          Stored content (one reference, owned by the revision)
+     * @param createdBy     Signer email
+     * @throws org.springframework.web.server.ResponseStatusException
+     *         409 when another revision was committed in between
+     */
+    void commit(Document document, int baseRevision, BlobRef blob, String createdBy);
+
+
+    /* =========================================================
+       READ
+    ========================================================= */
+
+    /**
+     * Revision history, newest first.
+     *
+     * @param documentId Document ID
+     * @return Revisions
+     */
+    List<DocumentRevisionResponse> getRevisions(Long documentId);
+
+
+    /**
+     * File-backed resource of one revision.
+     *
+     * @param documentId     Document ID
+     * @param revisionNumber Revision number
+     * @return PDF resource
+     */
+    Resource getRevisionResource(Long documentId, int revisionNumber);
+
+
+    /* =========================================================
+       DELETE
+    ========================================================= */
+
+    /**
+     * Release every blob reference held by the document's
+     * revisions (or by the document itself before revisions).
+     * Rows are removed with the document.
+     *
+     * @param document Document about to be deleted
+     */
+    void releaseAll(Document document);
+}
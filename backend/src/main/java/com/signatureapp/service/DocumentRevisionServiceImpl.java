@@ -0,0 +1,210 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.DocumentRevisionResponse;
+import com.signatureapp.model.AuditAction;
+import com.signatureapp.model.Document;
+import com.signatureapp.model.DocumentRevision;
+import com.signatureapp.repository.DocumentRepository;
+import com.signatureapp.repository.DocumentRevisionRepository;
+import com.signatureapp.storage.BlobRef;
+import com.signatureapp.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentRevisionServiceImpl implements DocumentRevisionService {
+
+    private final DocumentRevisionRepository documentRevisionRepository;
+    private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+
+    /** Revisions kept per document (newest first); 0 keeps all. */
+    @Value("${revisions.retention.keep-latest:0}")
+    private int keepLatest;
+
+    /** Older revisions are pruned after this many days; 0 keeps them. */
+    @Value("${revisions.retention.max-age-days:0}")
+    private int maxAgeDays;
+
+    @Value("${revisions.retention.batch-size:500}")
+    private int pruneBatchSize;
+
+    /* =========================================================
+       CREATE
+    ========================================================= */
+
+    @Override
+    public void recordInitial(Document document, BlobRef blob, String createdBy) {
+
+        documentRevisionRepository.save(DocumentRevision.builder()
+                .document(document)
+                .revisionNumber(1)
+                .contentHash(blob.sha256())
+                .filePath(blob.path().toString())
+                .fileSize(blob.size())
+                .reason(AuditAction.DOCUMENT_UPLOADED)
+                .createdBy(createdBy)
+                .createdAt(document.getUploadedAt())
+                .build());
+    }
+
+    @Override
+    public void commit(Document document, int baseRevision, BlobRef blob, String createdBy) {
+
+        int current = baseRevision;
+
+        if (current == 0 && document.getContentHash() != null) {
+            // Stored before revisions existed: its content (and the
+            // document's blob reference) becomes revision 1
+            documentRevisionRepository.save(DocumentRevision.builder()
+                    .document(document)
+                    .revisionNumber(1)
+                    .contentHash(document.getContentHash())
+                    .filePath(document.getFilePath())
+                    .fileSize(document.getFileSize() != null
+                            ? document.getFileSize()
+                            : sizeOf(document.getFilePath()))
+                    .reason(AuditAction.DOCUMENT_UPLOADED)
+                    .createdBy(document.getUploadedBy().getEmail())
+                    .createdAt(document.getUploadedAt())
+                    .build());
+            current = 1;
+        }
+
+        int next = current + 1;
+
+        documentRevisionRepository.save(DocumentRevision.builder()
+                .document(document)
+                .revisionNumber(next)
+                .contentHash(blob.sha256())
+                .filePath(blob.path().toString())
+                .fileSize(blob.size())
+                .reason(AuditAction.DOCUMENT_SIGNED)
+                .createdBy(createdBy)
+                .build());
+
+        // Atomic pointer switch; loses if someone else committed first
+        int updated = documentRepository.switchRevision(
+                document.getId(), baseRevision, next,
+                blob.sha256(), blob.path().toString(), blob.size());
+
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Document was changed by another signature, please retry");
+        }
+
+    }
+
+    /* =========================================================
+       READ
+    ========================================================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DocumentRevisionResponse> getRevisions(Long documentId) {
+
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+
+        return documentRevisionRepository
+                .findByDocument_IdOrderByRevisionNumberDesc(documentId)
+                .stream()
+                .map(revision -> DocumentRevisionResponse.builder()
+                        .revisionNumber(revision.getRevisionNumber())
+                        .reason(revision.getReason().name())
+                        .createdBy(revision.getCreatedBy())
+                        .createdAt(revision.getCreatedAt())
+                        .fileSize(revision.getFileSize())
+                        .current(Integer.valueOf(revision.getRevisionNumber())
+                                .equals(document.getCurrentRevision()))
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Resource getRevisionResource(Long documentId, int revisionNumber) {
+
+        DocumentRevision revision = documentRevisionRepository
+                .findByDocument_IdAndRevisionNumber(documentId, revisionNumber)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Revision not found"));
+
+        Path path = Paths.get(revision.getFilePath());
+
+        if (!Files.isReadable(path)) {
+            throw new RuntimeException("Document file not found");
+        }
+
+        return new FileSystemResource(path);
+    }
+
+    /* =========================================================
+       DELETE
+    ========================================================= */
+
+    @Override
+    public void releaseAll(Document document) {
+
+        List<String> hashes =
+                documentRevisionRepository.findContentHashes(document.getId());
+
+        if (hashes.isEmpty() && document.getContentHash() != null) {
+            blobStore.release(document.getContentHash());
+        }
+
+        hashes.forEach(blobStore::release);
+    }
+
+    /* =========================================================
+       RETENTION
+       The current revision is never pruned; blob bytes go once
+       no other revision or document references them.
+    ========================================================= */
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${revisions.retention.interval-ms:3600000}")
+    public void pruneRevisions() {
+
+        if (keepLatest <= 0 && maxAgeDays <= 0) {
+            return;
+        }
+
+        LocalDateTime createdBefore = maxAgeDays > 0
+                ? LocalDateTime.now().minusDays(maxAgeDays)
+                : LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        List<String> released = documentRevisionRepository
+                .deleteExpired(keepLatest, createdBefore, pruneBatchSize);
+
+        released.forEach(blobStore::release);
+
+        if (!released.isEmpty()) {
+            log.info("Pruned {} document revisions", released.size());
+        }
+    }
+
+    private long sizeOf(String filePath) {
+        try {
+            return Files.size(Paths.get(filePath));
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package com.signatureapp.service;
 
-import com.signatureapp.dto.DocumentResponse;
+import com.signatureapp.dto.DocumentListResponse;
+import com.signatureapp.dto.DocumentPagesResponse;
 import com.signatureapp.dto.SignRequest;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
  * Service layer responsible for:
  *  - Uploading PDF documents (multi-signer support)
- *  - Listing user documents
+ *  - Listing user documents (keyset pages)
  *  - Viewing documents (no audit log)
  *  - Downloading documents (with audit log)
  *  - Signing documents (PDFBox integration + workflow enforcement)
@@ -39,17 +43,81 @@ public interface DocumentService {
     );
 
 
+    /**
+     * Upload a PDF streamed as the raw request body.
+     *
+     * The stream is read exactly once, straight into storage,
+     * while its digest, size and PDF header/trailer are checked.
+     * Memory use does not depend on the file size.
+     *
+     * @param content       Raw PDF bytes
+     * @param fileName      Original file name
+     * @param signerEmails  Ordered list of signer emails
+     * @param userEmail     Authenticated uploader email
+     */
+    void uploadDocument(
+            InputStream content,
+            String fileName,
+            List<String> signerEmails,
+            String userEmail
+    );
+
+
+    /**
+     * Create a document from a complete file already sitting in
+     * the blob store staging area (chunked uploads).
+     *
+     * The file is verified with one sequential read (digest and
+     * PDF header/trailer) and then moved into storage, never
+     * copied or loaded into memory.
+     *
+     * @param stagedFile    Assembled file in the staging area
+     * @param fileName      Original file name
+     * @param signerEmails  Ordered list of signer emails
+     * @param uploaderEmail Uploader email
+     * @return ID of the new document
+     */
+    Long createFromStagedFile(
+            Path stagedFile,
+            String fileName,
+            List<String> signerEmails,
+            String uploaderEmail
+    );
+
+
     /* =========================================================
        FETCH USER DOCUMENTS
     ========================================================= */
 
     /**
-     * Retrieve all documents uploaded by the authenticated user.
+     * One page of the documents the user uploaded or has to sign,
+     * newest first, read from the user's inbox.
+     *
+     * Keyset pagination: each page continues strictly after the
+     * cursor of the previous one, so the cost of a page does not
+     * grow with the number of documents or the page depth.
+     *
+     * @param cursor    nextCursor of the previous page, or NULL
+     * @param limit     Page size (NULL = default)
+     * @param status    PENDING / SIGNED, or NULL for all
+     * @param userEmail Authenticated user email
+     * @return Page of document summaries
+     */
+    DocumentListResponse listDocuments(
+            String cursor,
+            Integer limit,
+            String status,
+            String userEmail
+    );
+
+
+    /**
+     * Number of documents waiting for the user's signature.
      *
      * @param userEmail Authenticated user email
-     * @return List of document summaries
+     * @return Count of documents where it is the user's turn
      */
-    List<DocumentResponse> getUserDocuments(String userEmail);
+    long countWaitingOnMe(String userEmail);
 
 
     /* =========================================================
@@ -57,14 +125,34 @@ public interface DocumentService {
     ========================================================= */
 
     /**
-     * Fetch document bytes for inline preview.
+     * Fetch document for inline preview.
      * Does NOT create an audit log.
      *
+     * The returned resource is streamed from disk by the caller,
+     * so the file is never loaded fully into memory and HTTP
+     * Range requests can be served from it.
+     *
+     * @param documentId Document ID
+     * @param userEmail  Authenticated user email
+     * @return File-backed PDF resource
+     */
+    Resource getDocumentResource(Long documentId, String userEmail);
+
+
+    /* =========================================================
+       PAGE LAYOUT
+    ========================================================= */
+
+    /**
+     * Page count, encryption flag, size and per-page geometry,
+     * read from the index captured at upload time.
+     * The PDF itself is not parsed or sent.
+     *
      * @param documentId Document ID
      * @param userEmail  Authenticated user email
-     * @return Raw PDF bytes
+     * @return Document layout
      */
-    byte[] getDocumentBytes(Long documentId, String userEmail);
+    DocumentPagesResponse getDocumentPages(Long documentId, String userEmail);
 
 
     /* =========================================================
@@ -77,9 +165,9 @@ public interface DocumentService {
      *
      * @param documentId Document ID
      * @param userEmail  Authenticated user email
-     * @return Raw PDF bytes
+     * @return File-backed PDF resource
      */
-    byte[] downloadDocument(Long documentId, String userEmail);
+    Resource downloadDocument(Long documentId, String userEmail);
 
 
     /* =========================================================
@@ -104,6 +192,27 @@ public interface DocumentService {
     );
 
 
+    /**
+     * Same as {@link #signDocument(Long, SignRequest, String)} with
+     * the signature image sent as raw PNG/JPEG bytes instead of a
+     * base64 data URL; request.signatureImage is ignored.
+     *
+     * The image is decoded straight from the stream, after the
+     * signer has been validated.
+     *
+     * @param documentId     Document ID
+     * @param request        Placement details
+     * @param signatureImage Raw image bytes
+     * @param userEmail      Authenticated signer email
+     */
+    void signDocument(
+            Long documentId,
+            SignRequest request,
+            InputStream signatureImage,
+            String userEmail
+    );
+
+
     /* =========================================================
        DELETE DOCUMENT
     ========================================================= */
@@ -1,27 +1,49 @@
 package com.signatureapp.service;
 
+import com.signatureapp.dto.DocumentListResponse;
+import com.signatureapp.dto.DocumentPagesResponse;
 import com.signatureapp.dto.DocumentResponse;
 import com.signatureapp.dto.SignRequest;
+import com.signatureapp.dto.SignerProgressResponse;
 import com.signatureapp.model.*;
+import com.signatureapp.pdf.PdfFormat;
+import com.signatureapp.pdf.PdfLayout;
+import com.signatureapp.pdf.PdfLoader;
+import com.signatureapp.repository.AuditRepository;
+import com.signatureapp.repository.DocumentPageRepository;
 import com.signatureapp.repository.DocumentRepository;
 import com.signatureapp.repository.DocumentSignerRepository;
+import com.signatureapp.repository.InboxRepository;
 import com.signatureapp.repository.UserRepository;
+import com.signatureapp.storage.BlobRef;
+import com.signatureapp.storage.BlobStore;
+import com.signatureapp.storage.InspectingInputStream;
+import com.signatureapp.storage.UploadTooLargeException;
 import lombok.RequiredArgsConstructor;
-import org.apache.pdfbox.pdmodel.*;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.time.LocalDateTime;
-import java.util.Base64;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,11 +51,27 @@ public class DocumentServiceImpl implements DocumentService {
 
     private final DocumentRepository documentRepository;
     private final DocumentSignerRepository documentSignerRepository;
+    private final DocumentPageRepository documentPageRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final SigningWorkflow signingWorkflow;
+    private final PreviewService previewService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final PdfLoader pdfLoader;
+    private final DocumentRevisionService documentRevisionService;
+    private final DocumentLocks documentLocks;
+    private final InboxRepository inboxRepository;
+    private final AuditRepository auditRepository;
 
-    private static final String UPLOAD_DIR =
-            System.getProperty("user.home") + File.separator + "signature-app-uploads";
+    @Value("${documents.list.default-limit:50}")
+    private int defaultListLimit;
+
+    @Value("${documents.list.max-limit:200}")
+    private int maxListLimit;
+
+    @Value("${upload.max-size:512MB}")
+    private DataSize maxUploadSize;
 
     /* =========================================================
        UTILITY METHODS
@@ -62,6 +100,238 @@ public class DocumentServiceImpl implements DocumentService {
                 .orElseThrow(() -> new RuntimeException("Document not found"));
     }
 
+    /**
+     * Resolve the stored file as a streamable resource.
+     * Nothing is read here; bytes are pulled from a FileChannel
+     * while the response is being written.
+     */
+    private Resource getFileResource(Document document) {
+
+        Path path = Paths.get(document.getFilePath());
+
+        if (!Files.isReadable(path)) {
+            throw new RuntimeException("Document file not found");
+        }
+
+        return new FileSystemResource(path);
+    }
+
+    /**
+     * Copy content from in to out once, hashing, counting and
+     * checking the PDF header/trailer on the way.
+     */
+    private InspectingInputStream copyInspected(InputStream in, OutputStream out)
+            throws IOException {
+
+        InspectingInputStream inspected = new InspectingInputStream(
+                in, maxUploadSize.toBytes(), PdfFormat.HEAD_SIZE, PdfFormat.TAIL_SIZE);
+
+        try {
+            inspected.transferTo(out);
+        } catch (UploadTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        }
+
+        if (!PdfFormat.looksLikePdf(inspected.getHead(), inspected.getTail())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is not a valid PDF");
+        }
+
+        return inspected;
+    }
+
+    /**
+     * Parse the PDF once and read its page layout.
+     * A file that passed the header/trailer check can still be
+     * unreadable, so this is where broken PDFs are rejected.
+     */
+    private PdfLayout readLayout(Path file) {
+        try (PdfLoader.OpenPdf open = pdfLoader.open(file)) {
+            return PdfLayout.of(open.document(), Files.size(file));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "File is not a readable PDF");
+        }
+    }
+
+    /**
+     * Save the layout on the document and its page rows.
+     */
+    private void indexLayout(Document document, PdfLayout layout) {
+
+        document.setFileSize(layout.fileSize());
+        document.setPageCount(layout.pageCount());
+        document.setEncrypted(layout.encrypted());
+        documentRepository.save(document);
+
+        documentPageRepository.saveAll(layout.pages().stream()
+                .map(geometry -> DocumentPage.of(document, geometry))
+                .toList());
+    }
+
+    /**
+     * Multipart upload after storing: its blob and page layout.
+     */
+    private record StoredUpload(BlobRef blob, PdfLayout layout) {
+    }
+
+    /**
+     * Store a multipart upload in the blob store.
+     * Spring has already buffered the part, so it is hashed first;
+     * if the same bytes are already stored only a reference is added
+     * and nothing is written. New content is parsed before it is
+     * moved into storage, so unreadable files never get stored.
+     */
+    private StoredUpload storeUpload(MultipartFile file) throws IOException {
+
+        InspectingInputStream inspected;
+        try (InputStream in = file.getInputStream()) {
+            inspected = copyInspected(in, OutputStream.nullOutputStream());
+        }
+
+        Optional<BlobRef> existing = blobStore.retain(inspected.sha256Hex());
+        if (existing.isPresent()) {
+            return new StoredUpload(existing.get(), readLayout(existing.get().path()));
+        }
+
+        Path staged = blobStore.createStagingFile();
+        try {
+            file.transferTo(staged);
+            PdfLayout layout = readLayout(staged);
+
+            return new StoredUpload(
+                    blobStore.put(staged, inspected.sha256Hex(), inspected.getCount()),
+                    layout);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * Create the document row and its ordered signer rows.
+     */
+    private Long createDocument(
+            User uploader,
+            BlobRef blob,
+            PdfLayout layout,
+            String fileName,
+            String fileType,
+            List<String> signerEmails
+    ) {
+
+        Document document = Document.builder()
+                .fileName(fileName)
+                .fileType(fileType)
+                .filePath(blob.path().toString())
+                .contentHash(blob.sha256())
+                .currentRevision(1)
+                .status(DocumentStatus.PENDING)
+                .uploadedBy(uploader)
+                .uploadedAt(LocalDateTime.now())
+                .build();
+
+        documentRepository.save(document);
+        documentRevisionService.recordInitial(document, blob, uploader.getEmail());
+        indexLayout(document, layout);
+
+        List<DocumentSigner> signers = new ArrayList<>(signerEmails.size());
+
+        for (int i = 0; i < signerEmails.size(); i++) {
+
+            signers.add(DocumentSigner.builder()
+                    .document(document)
+                    .signerEmail(normalize(signerEmails.get(i)))
+                    .signingOrder(i + 1)
+                    .status(i == 0 ? SignerStatus.PENDING : SignerStatus.WAITING)
+                    .build());
+        }
+
+        // Sequence IDs: flushed as JDBC batches, not one round trip per row
+        documentSignerRepository.saveAll(signers);
+
+        inboxRepository.saveAll(inboxEntries(document, uploader, signerEmails));
+
+        auditService.log(document.getId(),
+                AuditAction.DOCUMENT_UPLOADED,
+                uploader.getEmail(),
+                "SYSTEM");
+
+        previewService.prerender(blob.sha256(), blob.path().toString());
+
+        return document.getId();
+    }
+
+    /**
+     * One inbox row per user who can see the new document; the
+     * first signer's row has the turn.
+     */
+    private Collection<InboxEntry> inboxEntries(
+            Document document,
+            User uploader,
+            List<String> signerEmails
+    ) {
+
+        Map<String, InboxEntry> entries = new LinkedHashMap<>();
+
+        entries.put(uploader.getEmail(),
+                inboxEntry(document, uploader.getEmail(), InboxRole.OWNER));
+
+        for (int i = 0; i < signerEmails.size(); i++) {
+
+            InboxEntry entry = entries.computeIfAbsent(normalize(signerEmails.get(i)),
+                    email -> inboxEntry(document, email, InboxRole.SIGNER));
+
+            if (i == 0) {
+                entry.setMyTurn(true);
+            }
+        }
+
+        return entries.values();
+    }
+
+    private InboxEntry inboxEntry(Document document, String email, InboxRole role) {
+        return InboxEntry.builder()
+                .userEmail(email)
+                .document(document)
+                .role(role)
+                .status(document.getStatus())
+                .fileName(document.getFileName())
+                .uploadedAt(document.getUploadedAt())
+                .updatedAt(document.getUploadedAt())
+                .build();
+    }
+
+    /**
+     * Move a verified staging file into the blob store (or reuse
+     * identical stored content) and create the document, all in
+     * one short transaction.
+     */
+    private Long registerStaged(
+            User uploader,
+            Path stagedFile,
+            String sha256,
+            long size,
+            PdfLayout layout,
+            String fileName,
+            List<String> signerEmails
+    ) {
+
+        return transactionTemplate.execute(status -> {
+            try {
+                BlobRef blob = blobStore.retain(sha256).orElse(null);
+
+                if (blob == null) {
+                    blob = blobStore.put(stagedFile, sha256, size);
+                }
+
+                return createDocument(uploader, blob, layout, fileName,
+                        MediaType.APPLICATION_PDF_VALUE, signerEmails);
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /* =========================================================
        UPLOAD DOCUMENT
     ========================================================= */
@@ -80,44 +350,100 @@ public class DocumentServiceImpl implements DocumentService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         try {
-            Files.createDirectories(Paths.get(UPLOAD_DIR));
+            StoredUpload stored = storeUpload(file);
+
+            createDocument(uploader, stored.blob(), stored.layout(),
+                    file.getOriginalFilename(),
+                    file.getContentType(),
+                    signerEmails);
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Upload failed", e);
+        }
+    }
+
+    /* =========================================================
+       UPLOAD DOCUMENT (STREAMED REQUEST BODY)
+       Bytes go straight to the staging file, no transaction is
+       open while they arrive.
+    ========================================================= */
+
+    @Override
+    public void uploadDocument(
+            InputStream content,
+            String fileName,
+            List<String> signerEmails,
+            String ignored
+    ) {
+
+        String userEmail = getLoggedInUserEmail();
+
+        User uploader = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Path staged = null;
+
+        try {
+            staged = blobStore.createStagingFile();
 
-            String storedFileName =
-                    System.currentTimeMillis() + "_" + file.getOriginalFilename();
+            InspectingInputStream inspected;
+            try (OutputStream out = Files.newOutputStream(staged)) {
+                inspected = copyInspected(content, out);
+            }
 
-            Path filePath = Paths.get(UPLOAD_DIR, storedFileName);
-            file.transferTo(filePath.toFile());
+            // Parsed before the transaction opens
+            PdfLayout layout = readLayout(staged);
 
-            Document document = Document.builder()
-                    .fileName(file.getOriginalFilename())
-                    .fileType(file.getContentType())
-                    .filePath(filePath.toString())
-                    .status(DocumentStatus.PENDING)
-                    .uploadedBy(uploader)
-                    .uploadedAt(LocalDateTime.now())
-                    .build();
+            registerStaged(uploader, staged,
+                    inspected.sha256Hex(), inspected.getCount(),
+                    layout, fileName, signerEmails);
 
-            documentRepository.save(document);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Upload failed", e);
+        } finally {
+            if (staged != null) {
+                try {
+                    Files.deleteIfExists(staged);
+                } catch (IOException ignoredCleanup) {
+                    // leftover staging file is harmless
+                }
+            }
+        }
+    }
 
-            for (int i = 0; i < signerEmails.size(); i++) {
+    /* =========================================================
+       CREATE DOCUMENT FROM STAGED FILE (CHUNKED UPLOADS)
+    ========================================================= */
 
-                String signerEmail = normalize(signerEmails.get(i));
+    @Override
+    public Long createFromStagedFile(
+            Path stagedFile,
+            String fileName,
+            List<String> signerEmails,
+            String uploaderEmail
+    ) {
 
-                DocumentSigner signer = DocumentSigner.builder()
-                        .document(document)
-                        .signerEmail(signerEmail)
-                        .signingOrder(i + 1)
-                        .status(i == 0 ? SignerStatus.PENDING : SignerStatus.WAITING)
-                        .build();
+        User uploader = userRepository.findByEmail(normalize(uploaderEmail))
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-                documentSignerRepository.save(signer);
+        try {
+            InspectingInputStream inspected;
+            try (InputStream in = Files.newInputStream(stagedFile)) {
+                inspected = copyInspected(in, OutputStream.nullOutputStream());
             }
 
-            auditService.log(document.getId(),
-                    AuditAction.DOCUMENT_UPLOADED,
-                    userEmail,
-                    "SYSTEM");
+            PdfLayout layout = readLayout(stagedFile);
 
+            return registerStaged(uploader, stagedFile,
+                    inspected.sha256Hex(), inspected.getCount(),
+                    layout, fileName, signerEmails);
+
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Upload failed", e);
         }
@@ -129,20 +455,93 @@ public class DocumentServiceImpl implements DocumentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<DocumentResponse> getUserDocuments(String ignored) {
+    public DocumentListResponse listDocuments(
+            String cursor,
+            Integer limit,
+            String status,
+            String ignored
+    ) {
 
         String userEmail = getLoggedInUserEmail();
 
-        return documentRepository
-                .findDocumentsForUser(userEmail)
-                .stream()
-                .map(doc -> DocumentResponse.builder()
-                        .id(doc.getId())
-                        .fileName(doc.getFileName())
-                        .status(doc.getStatus().name())
-                        .uploadedAt(doc.getUploadedAt())
-                        .build())
-                .toList();
+        int pageSize = limit == null
+                ? defaultListLimit
+                : Math.max(1, Math.min(limit, maxListLimit));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // One extra row tells whether another page follows
+        List<InboxRepository.InboxSummary> rows = inboxRepository.findPage(
+                userEmail, parseStatus(status), after.at(), after.id(),
+                Limit.of(pageSize + 1));
+
+        List<InboxRepository.InboxSummary> page =
+                rows.subList(0, Math.min(pageSize, rows.size()));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            InboxRepository.InboxSummary last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getUploadedAt(), last.getDocumentId()).encode();
+        }
+
+        Map<Long, List<SignerProgressResponse>> progress = signerProgress(page.stream()
+                .map(InboxRepository.InboxSummary::getDocumentId)
+                .toList());
+
+        return DocumentListResponse.builder()
+                .items(page.stream()
+                        .map(row -> DocumentResponse.builder()
+                                .id(row.getDocumentId())
+                                .fileName(row.getFileName())
+                                .status(row.getStatus().name())
+                                .uploadedAt(row.getUploadedAt())
+                                .signers(progress.getOrDefault(row.getDocumentId(), List.of()))
+                                .build())
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countWaitingOnMe(String ignored) {
+        return inboxRepository.countByUserEmailAndMyTurnTrue(getLoggedInUserEmail());
+    }
+
+    /**
+     * Signers of all listed documents in one query, grouped by
+     * document (never one query per row).
+     */
+    private Map<Long, List<SignerProgressResponse>> signerProgress(List<Long> documentIds) {
+
+        if (documentIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return documentSignerRepository.findProgress(documentIds).stream()
+                .collect(Collectors.groupingBy(
+                        DocumentSignerRepository.SignerProgress::getDocumentId,
+                        Collectors.mapping(row -> SignerProgressResponse.builder()
+                                        .signingOrder(row.getSigningOrder())
+                                        .signerEmail(row.getSignerEmail())
+                                        .status(row.getStatus().name())
+                                        .signedAt(row.getSignedAt())
+                                        .build(),
+                                Collectors.toList())));
+    }
+
+    private Set<DocumentStatus> parseStatus(String status) {
+
+        if (status == null || status.isBlank()) {
+            return EnumSet.allOf(DocumentStatus.class);
+        }
+
+        try {
+            return EnumSet.of(DocumentStatus.valueOf(status.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown status: " + status);
+        }
     }
 
     /* =========================================================
@@ -151,13 +550,46 @@ public class DocumentServiceImpl implements DocumentService {
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] getDocumentBytes(Long documentId, String ignored) {
-        try {
-            return Files.readAllBytes(
-                    Paths.get(getDocument(documentId).getFilePath()));
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to read document", e);
+    public Resource getDocumentResource(Long documentId, String ignored) {
+        return getFileResource(getDocument(documentId));
+    }
+
+    /* =========================================================
+       PAGE LAYOUT
+       Served from the index; documents uploaded before the index
+       existed are parsed once here and indexed.
+    ========================================================= */
+
+    @Override
+    public DocumentPagesResponse getDocumentPages(Long documentId, String ignored) {
+
+        Document document = getDocument(documentId);
+
+        if (document.getPageCount() == null) {
+
+            PdfLayout layout = readLayout(Paths.get(document.getFilePath()));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Document current = getDocument(documentId);
+                if (current.getPageCount() == null) {
+                    indexLayout(current, layout);
+                }
+            });
+
+            document = getDocument(documentId);
         }
+
+        return DocumentPagesResponse.builder()
+                .documentId(documentId)
+                .fileSize(document.getFileSize())
+                .pageCount(document.getPageCount())
+                .encrypted(document.getEncrypted())
+                .pages(documentPageRepository
+                        .findByDocument_IdOrderByPageNumberAsc(documentId)
+                        .stream()
+                        .map(DocumentPage::toGeometry)
+                        .toList())
+                .build();
     }
 
     /* =========================================================
@@ -166,24 +598,18 @@ public class DocumentServiceImpl implements DocumentService {
 
     @Override
     @Transactional
-    public byte[] downloadDocument(Long documentId, String ignored) {
+    public Resource downloadDocument(Long documentId, String ignored) {
 
         String userEmail = getLoggedInUserEmail();
 
-        try {
-            byte[] bytes = Files.readAllBytes(
-                    Paths.get(getDocument(documentId).getFilePath()));
-
-            auditService.log(documentId,
-                    AuditAction.DOCUMENT_DOWNLOADED,
-                    userEmail,
-                    "SYSTEM");
+        Resource resource = getFileResource(getDocument(documentId));
 
-            return bytes;
+        auditService.log(documentId,
+                AuditAction.DOCUMENT_DOWNLOADED,
+                userEmail,
+                "SYSTEM");
 
-        } catch (Exception e) {
-            throw new RuntimeException("Download failed", e);
-        }
+        return resource;
     }
 
     /* =========================================================
@@ -191,7 +617,6 @@ public class DocumentServiceImpl implements DocumentService {
     ========================================================= */
 
     @Override
-    @Transactional
     public void signDocument(
             Long documentId,
             SignRequest request,
@@ -200,80 +625,49 @@ public class DocumentServiceImpl implements DocumentService {
 
         String userEmail = getLoggedInUserEmail();
 
-        Document document = getDocument(documentId);
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        DocumentSigner signer = documentSignerRepository
-                .findSigner(documentId, userEmail)
-                .orElseThrow(() ->
-                        new RuntimeException("You are not an assigned signer for this document"));
-
-        if (signer.getStatus() == SignerStatus.SIGNED)
-            throw new RuntimeException("You already signed this document");
+        // Same document signs one at a time (double-clicks, retries)
+        documentLocks.withLock(documentId, () -> {
 
-        if (signer.getStatus() != SignerStatus.PENDING)
-            throw new RuntimeException("Please wait for your turn to sign");
+            // Each phase runs in its own short transaction (or none)
+            SigningWorkflow.SigningTicket ticket =
+                    signingWorkflow.prepare(documentId, userEmail, request);
 
-        try (PDDocument pdf = PDDocument.load(new File(document.getFilePath()))) {
+            SigningWorkflow.SignedContent signed =
+                    signingWorkflow.stamp(ticket, request);
 
-            PDPage page = pdf.getPage(request.getPage() - 1);
-            PDRectangle box = page.getMediaBox();
+            try {
+                signingWorkflow.complete(ticket, signed);
+            } finally {
+                signed.discard();
+            }
+        });
+    }
 
-            float pageWidth = box.getWidth();
-            float pageHeight = box.getHeight();
+    @Override
+    public void signDocument(
+            Long documentId,
+            SignRequest request,
+            InputStream signatureImage,
+            String ignored
+    ) {
 
-            String base64 = request.getSignatureImage().split(",")[1];
-            byte[] imageBytes = Base64.getDecoder().decode(base64);
+        String userEmail = getLoggedInUserEmail();
 
-            PDImageXObject image =
-                    PDImageXObject.createFromByteArray(pdf, imageBytes, "signature");
+        documentLocks.withLock(documentId, () -> {
 
-            // ✅ ONLY CHANGE: signature size reduced
-            float imageWidth = (float) (request.getWidthPercent() * pageWidth * 0.65f);
-            float imageHeight = (float) (request.getHeightPercent() * pageHeight * 0.65f);
+            SigningWorkflow.SigningTicket ticket =
+                    signingWorkflow.prepare(documentId, userEmail, request);
 
-            float x = (float) (request.getXPercent() * pageWidth);
-            float y = (float) (pageHeight - (request.getYPercent() * pageHeight) - imageHeight);
+            // Body is only read once the signer is known to be valid
+            SigningWorkflow.SignedContent signed = signingWorkflow.stamp(
+                    ticket, request, signingWorkflow.decodeSignature(signatureImage));
 
-            try (PDPageContentStream stream =
-                         new PDPageContentStream(pdf, page,
-                                 PDPageContentStream.AppendMode.APPEND, true, true)) {
-                stream.drawImage(image, x, y, imageWidth, imageHeight);
+            try {
+                signingWorkflow.complete(ticket, signed);
+            } finally {
+                signed.discard();
             }
-
-            pdf.save(document.getFilePath());
-
-        } catch (Exception e) {
-            throw new RuntimeException("Signing failed", e);
-        }
-
-        signer.setStatus(SignerStatus.SIGNED);
-        signer.setSignedAt(LocalDateTime.now());
-        documentSignerRepository.save(signer);
-
-        documentSignerRepository
-                .findFirstByDocument_IdAndStatusOrderBySigningOrderAsc(
-                        documentId, SignerStatus.WAITING)
-                .ifPresent(next -> {
-                    next.setStatus(SignerStatus.PENDING);
-                    documentSignerRepository.save(next);
-                });
-
-        if (!documentSignerRepository.existsByDocument_IdAndStatus(
-                documentId, SignerStatus.PENDING)) {
-
-            document.setStatus(DocumentStatus.SIGNED);
-            document.setSignedAt(LocalDateTime.now());
-            document.setSignedBy(user);
-            documentRepository.save(document);
-        }
-
-        auditService.log(documentId,
-                AuditAction.DOCUMENT_SIGNED,
-                userEmail,
-                "SYSTEM");
+        });
     }
 
     /* =========================================================
@@ -290,7 +684,7 @@ public class DocumentServiceImpl implements DocumentService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Document document = documentRepository
-                .findByIdAndUploadedBy(documentId, user)
+                .lockByIdAndUploadedBy(documentId, user)
                 .orElseThrow(() -> new RuntimeException("Not authorized"));
 
         auditService.log(documentId,
@@ -299,7 +693,14 @@ public class DocumentServiceImpl implements DocumentService {
                 "SYSTEM");
 
         try {
-            Files.deleteIfExists(Paths.get(document.getFilePath()));
+            if (document.getContentHash() != null) {
+                // Shared content: bytes are freed with the last reference
+                documentRevisionService.releaseAll(document);
+            } else {
+                Files.deleteIfExists(Paths.get(document.getFilePath()));
+            }
+            inboxRepository.deleteByDocumentId(documentId);
+            auditRepository.deleteByDocumentId(documentId);
             documentRepository.delete(document);
         } catch (Exception e) {
             throw new RuntimeException("Delete failed", e);
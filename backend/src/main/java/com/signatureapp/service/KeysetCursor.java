@@ -0,0 +1,41 @@
+package com.signatureapp.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a newest-first keyset listing: the (timestamp, id)
+ * of the last row served. Opaque (base64url) to clients.
+ */
+record KeysetCursor(LocalDateTime at, Long id) {
+
+    /** Before every real row: the first page. */
+    static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+
+        try {
+            String[] parts = new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\|", 2);
+
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.signatureapp.service;
+
+import com.signatureapp.preview.PreviewKey;
+import org.springframework.core.io.Resource;
+
+/**
+ * Rendered page images for the page picker and signing screen,
+ * so they do not have to download and parse the whole PDF.
+ *
+ * Images are cached on disk per content revision; a signature
+ * produces a new revision and therefore new images.
+ */
+public interface PreviewService {
+
+    /* =========================================================
+       RESOLVE PREVIEW
+    ========================================================= */
+
+    /**
+     * Validate the request and identify the image, without
+     * rendering or touching the PDF. The key carries the ETag,
+     * so conditional requests can be answered right away.
+     *
+     * @param documentId Document ID
+     * @param pageNumber 1-based page number
+     * @param dpi        Requested resolution (NULL → default)
+     * @param userEmail  Authenticated user email
+     * @return Key of the page image
+     */
+    PreviewKey resolvePreview(
+            Long documentId,
+            int pageNumber,
+            Integer dpi,
+            String userEmail
+    );
+
+
+    /* =========================================================
+       LOAD PREVIEW
+    ========================================================= */
+
+    /**
+     * Page image from the cache, rendered on the preview pool
+     * first if it is missing.
+     *
+     * @param key Key from {@link #resolvePreview}
+     * @return PNG image resource
+     */
+    Resource getPreview(PreviewKey key);
+
+
+    /* =========================================================
+       BACKGROUND RENDERING
+    ========================================================= */
+
+    /**
+     * Queue rendering of the leading pages at every configured
+     * resolution. Runs after commit when called inside a
+     * transaction; skipped when the preview pool is saturated
+     * (images are then rendered on first request).
+     *
+     * @param revision Content hash of the revision
+     * @param filePath PDF to render from
+     */
+    void prerender(String revision, String filePath);
+}
@@ -0,0 +1,252 @@
+package com.signatureapp.service;
+
+import com.signatureapp.model.Document;
+import com.signatureapp.pdf.PageImages;
+import com.signatureapp.pdf.PdfLoader;
+import com.signatureapp.preview.PreviewCache;
+import com.signatureapp.preview.PreviewKey;
+import com.signatureapp.repository.DocumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PreviewServiceImpl implements PreviewService {
+
+    private final DocumentRepository documentRepository;
+    private final PreviewCache previewCache;
+    private final ThreadPoolTaskExecutor previewExecutor;
+    private final PdfLoader pdfLoader;
+
+    /**
+     * Fixed resolutions; anything else would make the cache
+     * unbounded in variety.
+     */
+    @Value("${preview.dpis:36,72,144}")
+    private List<Integer> dpis;
+
+    @Value("${preview.default-dpi:72}")
+    private int defaultDpi;
+
+    /**
+     * Background rendering covers only the first pages;
+     * later pages are rendered when first requested.
+     */
+    @Value("${preview.prerender-pages:20}")
+    private int prerenderPages;
+
+    @Value("${preview.render-timeout-seconds:30}")
+    private long renderTimeoutSeconds;
+
+    /**
+     * On-demand renders in progress, so concurrent requests for
+     * the same image wait for one render instead of starting many.
+     */
+    private final Map<PreviewKey, CompletableFuture<Void>> inFlight =
+            new ConcurrentHashMap<>();
+
+    /* =========================================================
+       RESOLVE PREVIEW
+    ========================================================= */
+
+    @Override
+    public PreviewKey resolvePreview(
+            Long documentId,
+            int pageNumber,
+            Integer dpi,
+            String ignored
+    ) {
+
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+
+        if (pageNumber < 1 ||
+                (document.getPageCount() != null && pageNumber > document.getPageCount())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Page not found");
+        }
+
+        int resolution = dpi == null ? defaultDpi : dpi;
+
+        if (!dpis.contains(resolution)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "dpi must be one of " + dpis);
+        }
+
+        return new PreviewKey(
+                revisionOf(document),
+                document.getFilePath(),
+                pageNumber,
+                resolution
+        );
+    }
+
+    /* =========================================================
+       LOAD PREVIEW
+    ========================================================= */
+
+    @Override
+    public Resource getPreview(PreviewKey key) {
+
+        Optional<Resource> cached = previewCache.open(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<Void> render;
+        try {
+            render = inFlight.computeIfAbsent(key, k ->
+                    CompletableFuture.runAsync(() -> renderPage(k), previewExecutor));
+        } catch (TaskRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Preview renderer is busy, try again shortly");
+        }
+
+        render.whenComplete((done, error) -> inFlight.remove(key, render));
+
+        try {
+            render.get(renderTimeoutSeconds, TimeUnit.SECONDS);
+
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Preview is still rendering, try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Preview rendering interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResponseStatusException status) {
+                throw status;
+            }
+            throw new RuntimeException("Preview rendering failed", e.getCause());
+        }
+
+        // Each waiting request opens its own copy; gone already only
+        // if the cache is smaller than a handful of images
+        return previewCache.open(key).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Preview was evicted, try again shortly"));
+    }
+
+    /* =========================================================
+       BACKGROUND RENDERING
+    ========================================================= */
+
+    @Override
+    public void prerender(String revision, String filePath) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submitPrerender(revision, filePath);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        submitPrerender(revision, filePath);
+                    }
+                });
+    }
+
+    private void submitPrerender(String revision, String filePath) {
+        try {
+            previewExecutor.execute(() -> renderLeadingPages(revision, filePath));
+        } catch (TaskRejectedException e) {
+            log.debug("Preview pool saturated, skipping prerender of {}", revision);
+        }
+    }
+
+    /**
+     * One PDF load for all leading pages and resolutions.
+     */
+    private void renderLeadingPages(String revision, String filePath) {
+
+        try (PdfLoader.OpenPdf open = pdfLoader.open(Paths.get(filePath))) {
+
+            PDDocument pdf = open.document();
+
+            PDFRenderer renderer = new PDFRenderer(pdf);
+            int pages = Math.min(pdf.getNumberOfPages(), prerenderPages);
+
+            for (int page = 1; page <= pages; page++) {
+                for (int dpi : dpis) {
+
+                    PreviewKey key = new PreviewKey(revision, filePath, page, dpi);
+
+                    if (!previewCache.contains(key)) {
+                        int pageNumber = page;
+                        previewCache.put(key, out ->
+                                PageImages.render(renderer, pageNumber, dpi, out));
+                    }
+                }
+            }
+
+        } catch (Exception e) {
+            log.warn("Prerender of {} failed: {}", revision, e.getMessage());
+        }
+    }
+
+    /* =========================================================
+       UTILITY
+    ========================================================= */
+
+    private void renderPage(PreviewKey key) {
+
+        try (PdfLoader.OpenPdf open = pdfLoader.open(Paths.get(key.filePath()))) {
+
+            PDDocument pdf = open.document();
+
+            if (key.pageNumber() > pdf.getNumberOfPages()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Page not found");
+            }
+
+            PDFRenderer renderer = new PDFRenderer(pdf);
+
+            previewCache.put(key, out ->
+                    PageImages.render(renderer, key.pageNumber(), key.dpi(), out));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Blob hash for stored content. Legacy files outside the blob
+     * store have no hash; their modification time stands in.
+     */
+    private String revisionOf(Document document) {
+
+        if (document.getContentHash() != null) {
+            return document.getContentHash();
+        }
+
+        try {
+            Path file = Paths.get(document.getFilePath());
+            return "legacy-" + document.getId() + "-"
+                    + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new RuntimeException("Document file not found", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.SignJobResponse;
+import com.signatureapp.dto.SignRequest;
+
+/**
+ * Service responsible for:
+ *  - Accepting asynchronous sign requests as durable jobs
+ *  - Reporting job progress
+ *
+ * The PDF work itself is done by background workers.
+ */
+public interface SignJobService {
+
+    /* =========================================================
+       SUBMIT SIGN JOB
+    ========================================================= */
+
+    /**
+     * Validate the signer, store the request as a QUEUED job
+     * and hand it to a worker once the transaction commits.
+     *
+     * @param documentId Document ID
+     * @param request    Signature request details
+     * @param userEmail  Authenticated signer email
+     * @return Newly created job
+     */
+    SignJobResponse submit(Long documentId, SignRequest request, String userEmail);
+
+
+    /* =========================================================
+       FETCH JOB STATUS
+    ========================================================= */
+
+    /**
+     * Retrieve a job submitted by the authenticated user.
+     *
+     * @param documentId Document ID
+     * @param jobId      Job ID
+     * @param userEmail  Authenticated signer email
+     * @return Job status
+     */
+    SignJobResponse getJob(Long documentId, Long jobId, String userEmail);
+}
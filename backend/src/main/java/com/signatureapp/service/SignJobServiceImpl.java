@@ -0,0 +1,241 @@
+package com.signatureapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.signatureapp.dto.SignJobResponse;
+import com.signatureapp.dto.SignRequest;
+import com.signatureapp.model.SignJob;
+import com.signatureapp.model.SignJobStatus;
+import com.signatureapp.pdf.ProcessingBudgetExceededException;
+import com.signatureapp.repository.DocumentRepository;
+import com.signatureapp.repository.SignJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SignJobServiceImpl implements SignJobService {
+
+    private final SignJobRepository signJobRepository;
+    private final DocumentRepository documentRepository;
+    private final SigningWorkflow signingWorkflow;
+    private final DocumentLocks documentLocks;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor signingExecutor;
+
+    /**
+     * Jobs handed to the local executor and not finished yet.
+     * Keeps the poller from queueing the same job twice.
+     */
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+
+    /**
+     * RUNNING jobs older than this are assumed orphaned
+     * (worker node died) and are queued again.
+     */
+    @Value("${signing.jobs.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    /* =========================================================
+       UTILITY METHODS
+    ========================================================= */
+
+    private String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    private SignJobResponse toResponse(SignJob job) {
+        return SignJobResponse.builder()
+                .jobId(job.getId())
+                .documentId(job.getDocumentId())
+                .status(job.getStatus().name())
+                .error(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    /* =========================================================
+       SUBMIT SIGN JOB
+    ========================================================= */
+
+    @Override
+    @Transactional
+    public SignJobResponse submit(Long documentId, SignRequest request, String userEmail) {
+
+        String email = normalize(userEmail);
+
+        // Reject early: wrong signer / wrong turn never becomes a job
+        signingWorkflow.prepare(documentId, email, request);
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid sign request", e);
+        }
+
+        SignJob job = SignJob.builder()
+                .document(documentRepository.getReferenceById(documentId))
+                .documentId(documentId)
+                .signerEmail(email)
+                .payload(payload)
+                .status(SignJobStatus.QUEUED)
+                .build();
+
+        signJobRepository.save(job);
+
+        Long jobId = job.getId();
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        dispatch(jobId);
+                    }
+                });
+
+        return toResponse(job);
+    }
+
+    /* =========================================================
+       FETCH JOB STATUS
+    ========================================================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public SignJobResponse getJob(Long documentId, Long jobId, String userEmail) {
+
+        SignJob job = signJobRepository.findByIdAndDocument_Id(jobId, documentId)
+                .orElseThrow(() -> new RuntimeException("Sign job not found"));
+
+        if (!job.getSignerEmail().equals(normalize(userEmail))) {
+            throw new RuntimeException("Sign job not found");
+        }
+
+        return toResponse(job);
+    }
+
+    /* =========================================================
+       DISPATCH
+    ========================================================= */
+
+    private void dispatch(Long jobId) {
+
+        if (!dispatched.add(jobId)) {
+            return;
+        }
+
+        try {
+            signingExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            // Queue full: job stays QUEUED and the poller retries
+            dispatched.remove(jobId);
+        }
+    }
+
+    /* =========================================================
+       POLLER
+       Picks up jobs that could not be queued on submit,
+       jobs accepted by other nodes and jobs left over
+       from a crash or restart.
+    ========================================================= */
+    @Scheduled(
+            initialDelayString = "${signing.jobs.poll-interval-ms:5000}",
+            fixedDelayString = "${signing.jobs.poll-interval-ms:5000}"
+    )
+    public void dispatchQueued() {
+
+        signJobRepository.requeueStale(
+                LocalDateTime.now().minusMinutes(staleAfterMinutes));
+
+        int free = signingExecutor.getQueueCapacity()
+                - signingExecutor.getQueueSize();
+
+        if (free <= 0) {
+            return;
+        }
+
+        List<Long> ids = signJobRepository.findIdsByStatus(
+                SignJobStatus.QUEUED, PageRequest.of(0, free));
+
+        ids.forEach(this::dispatch);
+    }
+
+    /* =========================================================
+       WORKER
+    ========================================================= */
+
+    private void run(Long jobId) {
+
+        try {
+            if (signJobRepository.claim(jobId, LocalDateTime.now()) == 0) {
+                return; // another worker got it first
+            }
+
+            try {
+                SignJob job = signJobRepository.findById(jobId)
+                        .orElseThrow(() -> new RuntimeException("Sign job not found"));
+
+                SignRequest request =
+                        objectMapper.readValue(job.getPayload(), SignRequest.class);
+
+                documentLocks.withLock(job.getDocumentId(), () -> {
+
+                    SigningWorkflow.SigningTicket ticket = signingWorkflow.prepare(
+                            job.getDocumentId(), job.getSignerEmail(), request);
+
+                    SigningWorkflow.SignedContent signed =
+                            signingWorkflow.stamp(ticket, request);
+
+                    try {
+                        signingWorkflow.complete(ticket, signed);
+                    } finally {
+                        signed.discard();
+                    }
+                });
+
+                signJobRepository.finish(jobId,
+                        SignJobStatus.COMPLETED, null, LocalDateTime.now());
+
+            } catch (ProcessingBudgetExceededException | DocumentBusyException e) {
+                // Not a failure of the job: try again on a later poll
+                signJobRepository.release(jobId);
+
+            } catch (Exception e) {
+                log.warn("Sign job {} failed: {}", jobId, e.getMessage());
+
+                signJobRepository.finish(jobId,
+                        SignJobStatus.FAILED, errorMessage(e), LocalDateTime.now());
+            }
+
+        } finally {
+            dispatched.remove(jobId);
+        }
+    }
+
+    private String errorMessage(Exception e) {
+
+        String message = e.getMessage() == null
+                ? e.getClass().getSimpleName()
+                : e.getMessage();
+
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
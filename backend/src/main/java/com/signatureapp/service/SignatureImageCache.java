@@ -0,0 +1,64 @@
+package com.signatureapp.service;
+
+import com.signatureapp.pdf.SignatureImage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of prepared (decoded and PDF-encoded) signature
+ * images, keyed by the SHA-256 of the stored PNG.
+ *
+ * Keyed by content, so entries never go stale and users who
+ * saved identical images share one entry.
+ */
+@Component
+public class SignatureImageCache {
+
+    @Value("${signatures.cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    private final LinkedHashMap<String, SignatureImage> entries =
+            new LinkedHashMap<>(64, 0.75f, true);
+
+    private long totalBytes;
+
+    /**
+     * Cached image, or load it (outside the lock) and cache it.
+     */
+    public SignatureImage get(String sha256, Supplier<SignatureImage> loader) {
+
+        synchronized (entries) {
+            SignatureImage cached = entries.get(sha256);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        SignatureImage loaded = loader.get();
+
+        synchronized (entries) {
+
+            SignatureImage previous = entries.put(sha256, loaded);
+            if (previous != null) {
+                totalBytes -= previous.getEncodedSize();
+            }
+            totalBytes += loaded.getEncodedSize();
+
+            Iterator<Map.Entry<String, SignatureImage>> eldest =
+                    entries.entrySet().iterator();
+
+            while (totalBytes > maxSize.toBytes() && entries.size() > 1) {
+                totalBytes -= eldest.next().getValue().getEncodedSize();
+                eldest.remove();
+            }
+        }
+
+        return loaded;
+    }
+}
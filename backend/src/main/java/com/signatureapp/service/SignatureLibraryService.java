@@ -0,0 +1,77 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.SavedSignatureResponse;
+import com.signatureapp.pdf.SignatureImage;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Service responsible for:
+ *  - Saving, listing and deleting a user's reusable signatures
+ *  - Handing prepared signature images to the signing workflow
+ *
+ * Images are normalized once on save; signing by signature id
+ * skips both the upload and the image decode.
+ */
+public interface SignatureLibraryService {
+
+    /* =========================================================
+       LIST SIGNATURES
+    ========================================================= */
+
+    /**
+     * @param userEmail Authenticated user email
+     * @return Saved signatures, newest first (no image data)
+     */
+    List<SavedSignatureResponse> getSignatures(String userEmail);
+
+
+    /* =========================================================
+       SAVE SIGNATURE
+    ========================================================= */
+
+    /**
+     * Crop, scale and re-encode the image as PNG, then store it.
+     *
+     * @param name      Label shown to the user
+     * @param image     Raw PNG/JPEG bytes
+     * @param userEmail Authenticated user email
+     * @return Saved signature
+     */
+    SavedSignatureResponse saveSignature(String name, InputStream image, String userEmail);
+
+
+    /* =========================================================
+       SIGNATURE IMAGE
+    ========================================================= */
+
+    /**
+     * @param signatureId Saved signature ID
+     * @param userEmail   Authenticated user email
+     * @return Normalized PNG bytes
+     */
+    byte[] getSignatureImage(Long signatureId, String userEmail);
+
+
+    /**
+     * Image ready to be imported into a PDF, served from the
+     * prepared-image cache when possible.
+     *
+     * @param signatureId Saved signature ID
+     * @param userEmail   Owner email
+     * @return Prepared image
+     */
+    SignatureImage getPreparedSignature(Long signatureId, String userEmail);
+
+
+    /* =========================================================
+       DELETE SIGNATURE
+    ========================================================= */
+
+    /**
+     * @param signatureId Saved signature ID
+     * @param userEmail   Authenticated user email
+     */
+    void deleteSignature(Long signatureId, String userEmail);
+}
@@ -0,0 +1,197 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.SavedSignatureResponse;
+import com.signatureapp.model.User;
+import com.signatureapp.model.UserSignature;
+import com.signatureapp.pdf.SignatureImage;
+import com.signatureapp.pdf.SignatureNormalizer;
+import com.signatureapp.repository.UserRepository;
+import com.signatureapp.repository.UserSignatureRepository;
+import com.signatureapp.storage.Hashing;
+import com.signatureapp.storage.InspectingInputStream;
+import com.signatureapp.storage.UploadTooLargeException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SignatureLibraryServiceImpl implements SignatureLibraryService {
+
+    private final UserSignatureRepository userSignatureRepository;
+    private final UserRepository userRepository;
+    private final SignatureImageCache signatureImageCache;
+
+    @Value("${signing.max-image-size:2MB}")
+    private DataSize maxImageSize;
+
+    @Value("${signatures.max-width:1200}")
+    private int maxWidth;
+
+    @Value("${signatures.max-height:600}")
+    private int maxHeight;
+
+    @Value("${signatures.max-per-user:20}")
+    private int maxPerUser;
+
+    /* =========================================================
+       UTILITY METHODS
+    ========================================================= */
+
+    private String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    private ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Saved signature not found");
+    }
+
+    /* =========================================================
+       LIST SIGNATURES
+    ========================================================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SavedSignatureResponse> getSignatures(String userEmail) {
+
+        return userSignatureRepository
+                .findByUser_EmailOrderByCreatedAtDesc(normalize(userEmail))
+                .stream()
+                .map(signature -> SavedSignatureResponse.builder()
+                        .id(signature.getId())
+                        .name(signature.getName())
+                        .width(signature.getWidth())
+                        .height(signature.getHeight())
+                        .size(signature.getSize())
+                        .createdAt(signature.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    /* =========================================================
+       SAVE SIGNATURE
+       Image work happens before the transaction opens.
+    ========================================================= */
+
+    @Override
+    public SavedSignatureResponse saveSignature(
+            String name,
+            InputStream image,
+            String userEmail
+    ) {
+
+        String email = normalize(userEmail);
+
+        if (name == null || name.isBlank() || name.length() > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Name is required (max 100 characters)");
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        if (userSignatureRepository.countByUser_Email(email) >= maxPerUser) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "At most " + maxPerUser + " saved signatures per user");
+        }
+
+        SignatureNormalizer.Result normalized;
+        try {
+            normalized = SignatureNormalizer.normalize(
+                    new InspectingInputStream(image, maxImageSize.toBytes(), 0, 0),
+                    maxWidth, maxHeight);
+
+        } catch (UploadTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Signature image exceeds " + maxImageSize.toBytes() + " bytes");
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Signature image could not be read");
+        }
+
+        String sha256;
+        try {
+            sha256 = Hashing.sha256Hex(new ByteArrayInputStream(normalized.png()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        UserSignature saved = userSignatureRepository.save(UserSignature.builder()
+                .user(user)
+                .name(name.trim())
+                .sha256(sha256)
+                .width(normalized.width())
+                .height(normalized.height())
+                .size(normalized.png().length)
+                .imageData(normalized.png())
+                .build());
+
+        return SavedSignatureResponse.builder()
+                .id(saved.getId())
+                .name(saved.getName())
+                .width(saved.getWidth())
+                .height(saved.getHeight())
+                .size(saved.getSize())
+                .createdAt(saved.getCreatedAt())
+                .build();
+    }
+
+    /* =========================================================
+       SIGNATURE IMAGE
+    ========================================================= */
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getSignatureImage(Long signatureId, String userEmail) {
+
+        userSignatureRepository.findHash(signatureId, normalize(userEmail))
+                .orElseThrow(this::notFound);
+
+        return userSignatureRepository.findImageData(signatureId)
+                .orElseThrow(this::notFound);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SignatureImage getPreparedSignature(Long signatureId, String userEmail) {
+
+        // Ownership check reads only the hash, never the image
+        String sha256 = userSignatureRepository
+                .findHash(signatureId, normalize(userEmail))
+                .orElseThrow(this::notFound);
+
+        return signatureImageCache.get(sha256, () -> {
+
+            byte[] png = userSignatureRepository.findImageData(signatureId)
+                    .orElseThrow(this::notFound);
+
+            try {
+                return SignatureImage.fromBytes(png);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /* =========================================================
+       DELETE SIGNATURE
+    ========================================================= */
+
+    @Override
+    public void deleteSignature(Long signatureId, String userEmail) {
+
+        if (userSignatureRepository.deleteOwned(signatureId, normalize(userEmail)) == 0) {
+            throw notFound();
+        }
+    }
+}
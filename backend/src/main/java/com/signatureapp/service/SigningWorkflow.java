@@ -0,0 +1,467 @@
+package com.signatureapp.service;
+
+import com.signatureapp.dto.SignRequest;
+import com.signatureapp.dto.SignaturePlacement;
+import com.signatureapp.model.*;
+import com.signatureapp.pdf.IncrementalUpdate;
+import com.signatureapp.pdf.PageGeometry;
+import com.signatureapp.pdf.PdfLoader;
+import com.signatureapp.pdf.Placement;
+import com.signatureapp.pdf.SignatureImage;
+import com.signatureapp.repository.DocumentPageRepository;
+import com.signatureapp.repository.DocumentRepository;
+import com.signatureapp.repository.DocumentSignerRepository;
+import com.signatureapp.repository.UserRepository;
+import com.signatureapp.storage.BlobRef;
+import com.signatureapp.storage.BlobStore;
+import com.signatureapp.storage.Hashing;
+import com.signatureapp.storage.InspectingInputStream;
+import com.signatureapp.storage.UploadTooLargeException;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.pdmodel.*;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Signing split into three phases so that the slow PDF work
+ * never runs inside a database transaction:
+ *
+ *  1. prepare  – short read-only transaction, checks the signer
+ *  2. stamp    – PDFBox work, no transaction / no DB connection
+ *  3. complete – short write transaction, advances the workflow
+ *
+ * Stored content is shared and immutable, so stamping writes the
+ * signed PDF to a staging file and complete() records it as the
+ * document's next revision. Readers keep streaming the previous
+ * revision file until the pointer switches.
+ *
+ * Used by both the synchronous sign endpoint and the
+ * background sign job workers. Callers serialize one document's
+ * phases with DocumentLocks; complete() relies on row locks taken
+ * by its set-based updates, so it also holds across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SigningWorkflow {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentSignerRepository documentSignerRepository;
+    private final DocumentPageRepository documentPageRepository;
+    private final UserRepository userRepository;
+    private final AuditService auditService;
+    private final BlobStore blobStore;
+    private final PreviewService previewService;
+    private final SignatureLibraryService signatureLibraryService;
+    private final PdfLoader pdfLoader;
+    private final DocumentRevisionService documentRevisionService;
+
+    /**
+     * true  → append each signature as a PDF incremental update
+     * false → rewrite the whole PDF on every signature (legacy)
+     */
+    @Value("${signing.incremental-update:true}")
+    private boolean incrementalUpdate;
+
+    @Value("${signing.max-placements:500}")
+    private int maxPlacements;
+
+    @Value("${signing.max-image-size:2MB}")
+    private DataSize maxImageSize;
+
+    /**
+     * Snapshot of everything the stamp and complete phases need,
+     * so no entity has to stay attached between phases.
+     *
+     * placements is NULL for documents without a page index;
+     * stamp() then computes them from the loaded pages.
+     * baseRevision is the revision filePath belongs to (0 = none).
+     */
+    public record SigningTicket(
+            Long documentId,
+            Long signerId,
+            String signerEmail,
+            String filePath,
+            int baseRevision,
+            List<Placement> placements
+    ) {
+    }
+
+    /**
+     * Signed PDF written by the stamp phase, not yet stored.
+     */
+    public record SignedContent(
+            Path stagedFile,
+            String sha256,
+            long size
+    ) {
+
+        /**
+         * Remove the staged file if complete() did not take it.
+         */
+        public void discard() {
+            deleteQuietly(stagedFile);
+        }
+    }
+
+    /* =========================================================
+       PHASE 1: VALIDATE SIGNER, PAGE AND POSITION
+       Page and placement come from the page index, so a bad
+       request is rejected without opening the PDF.
+    ========================================================= */
+    @Transactional(readOnly = true)
+    public SigningTicket prepare(Long documentId, String signerEmail, SignRequest request) {
+
+        List<SignaturePlacement> requested = request.effectivePlacements();
+        validatePositions(requested);
+
+        if (!userRepository.existsByEmail(signerEmail)) {
+            throw new RuntimeException("User not found");
+        }
+
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+
+        DocumentSigner signer = documentSignerRepository
+                .findSigner(documentId, signerEmail)
+                .orElseThrow(() ->
+                        new RuntimeException("You are not an assigned signer for this document"));
+
+        checkTurn(signer.getStatus());
+
+        List<Placement> placements = null;
+
+        if (document.getPageCount() != null) {
+
+            Set<Integer> pageNumbers = new TreeSet<>();
+            for (SignaturePlacement placement : requested) {
+                checkPage(placement.getPage(), document.getPageCount());
+                pageNumbers.add(placement.getPage());
+            }
+
+            // One query for all pages involved
+            Map<Integer, PageGeometry> pages = documentPageRepository
+                    .findByDocument_IdAndPageNumberIn(documentId, pageNumbers)
+                    .stream()
+                    .map(DocumentPage::toGeometry)
+                    .collect(Collectors.toMap(PageGeometry::pageNumber, Function.identity()));
+
+            if (pages.size() != pageNumbers.size()) {
+                throw new RuntimeException("Page index is incomplete");
+            }
+
+            placements = requested.stream()
+                    .map(placement -> place(pages.get(placement.getPage()), placement))
+                    .toList();
+        }
+
+        return new SigningTicket(
+                documentId,
+                signer.getId(),
+                signerEmail,
+                document.getFilePath(),
+                document.getCurrentRevision() == null ? 0 : document.getCurrentRevision(),
+                placements
+        );
+    }
+
+    /* =========================================================
+       DECODE SIGNATURE IMAGE
+       Done once per request; the result can stamp any number
+       of documents.
+    ========================================================= */
+    public SignatureImage decodeSignature(String signatureImage) {
+
+        if (signatureImage == null || signatureImage.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Signature image is required");
+        }
+
+        try {
+            return SignatureImage.fromDataUrl(signatureImage);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Signature image could not be read");
+        }
+    }
+
+    /**
+     * The saved signature referenced by the request (cached, no
+     * decode) or else its inline data URL.
+     */
+    public SignatureImage resolveSignature(SignRequest request, String signerEmail) {
+
+        if (request.getSignatureId() != null) {
+            return signatureLibraryService.getPreparedSignature(
+                    request.getSignatureId(), signerEmail);
+        }
+
+        return decodeSignature(request.getSignatureImage());
+    }
+
+    /**
+     * Decode a raw PNG/JPEG upload directly from the request body.
+     */
+    public SignatureImage decodeSignature(InputStream signatureImage) {
+
+        InspectingInputStream limited = new InspectingInputStream(
+                signatureImage, maxImageSize.toBytes(), 0, 0);
+
+        try {
+            return SignatureImage.fromStream(limited);
+        } catch (UploadTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Signature image exceeds " + maxImageSize.toBytes() + " bytes");
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Signature image could not be read");
+        }
+    }
+
+    /* =========================================================
+       PHASE 2: STAMP SIGNATURE INTO PDF (NO TRANSACTION)
+    ========================================================= */
+    public SignedContent stamp(SigningTicket ticket, SignRequest request) {
+        return stamp(ticket, request, resolveSignature(request, ticket.signerEmail()));
+    }
+
+    public SignedContent stamp(
+            SigningTicket ticket,
+            SignRequest request,
+            SignatureImage signature
+    ) {
+
+        Path staged = null;
+
+        try (PdfLoader.OpenPdf open = pdfLoader.open(Paths.get(ticket.filePath()))) {
+
+            PDDocument pdf = open.document();
+
+            List<Placement> placements = ticket.placements();
+
+            if (placements == null) {
+                // Not indexed yet: read the geometry from the loaded pages
+                placements = new ArrayList<>();
+                for (SignaturePlacement placement : request.effectivePlacements()) {
+                    checkPage(placement.getPage(), pdf.getNumberOfPages());
+                    placements.add(place(
+                            PageGeometry.of(placement.getPage(),
+                                    pdf.getPage(placement.getPage() - 1)),
+                            placement));
+                }
+            }
+
+            // One XObject, referenced by every placement
+            PDImageXObject image = signature.importInto(pdf);
+
+            Map<Integer, List<Placement>> byPage = placements.stream()
+                    .collect(Collectors.groupingBy(
+                            Placement::pageNumber, TreeMap::new, Collectors.toList()));
+
+            List<PDPage> changedPages = new ArrayList<>(byPage.size());
+
+            for (Map.Entry<Integer, List<Placement>> entry : byPage.entrySet()) {
+
+                PDPage page = pdf.getPage(entry.getKey() - 1);
+
+                // One appended content stream per page
+                try (PDPageContentStream stream =
+                             new PDPageContentStream(pdf, page,
+                                     PDPageContentStream.AppendMode.APPEND, true, true)) {
+
+                    for (Placement placement : entry.getValue()) {
+                        stream.drawImage(image,
+                                placement.x(), placement.y(),
+                                placement.width(), placement.height());
+                    }
+                }
+
+                changedPages.add(page);
+            }
+
+            staged = blobStore.createStagingFile();
+            MessageDigest digest = Hashing.sha256();
+
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(staged)), digest)) {
+
+                if (incrementalUpdate) {
+                    // Original bytes + appended increment, hashed in one pass
+                    for (PDPage page : changedPages) {
+                        IncrementalUpdate.markPageChanged(pdf, page);
+                    }
+                    pdf.saveIncremental(out);
+                } else {
+                    pdf.save(out);
+                }
+            }
+
+            return new SignedContent(staged, Hashing.hex(digest), Files.size(staged));
+
+        } catch (ResponseStatusException e) {
+            if (staged != null) {
+                deleteQuietly(staged);
+            }
+            throw e;
+        } catch (Exception e) {
+            if (staged != null) {
+                deleteQuietly(staged);
+            }
+            throw new RuntimeException("Signing failed", e);
+        }
+    }
+
+    /* =========================================================
+       PHASE 3: ADVANCE SIGNER WORKFLOW
+       Signer, next signer and document status change in one
+       statement; the revision switch is a compare-and-set.
+    ========================================================= */
+    @Transactional
+    public void complete(SigningTicket ticket, SignedContent content) {
+
+        Long documentId = ticket.documentId();
+
+        // Re-checks the turn and locks the signer rows: a second
+        // complete for this signer waits here, then changes nothing
+        DocumentSignerRepository.Transition transition = documentSignerRepository.advance(
+                documentId, ticket.signerId(), ticket.signerEmail(), LocalDateTime.now());
+
+        if (transition.getSigned() != 1) {
+            checkTurn(documentSignerRepository.findStatusById(ticket.signerId())
+                    .orElseThrow(() -> new RuntimeException("Signer not found")));
+            throw new RuntimeException("Please wait for your turn to sign");
+        }
+
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+
+        BlobRef blob = swapContent(document, ticket, content);
+        previewService.prerender(blob.sha256(), blob.path().toString());
+
+        auditService.log(documentId,
+                AuditAction.DOCUMENT_SIGNED,
+                ticket.signerEmail(),
+                "SYSTEM");
+    }
+
+    /* =========================================================
+       UTILITY
+    ========================================================= */
+
+    /**
+     * Store the signed content as the document's next revision.
+     * Earlier revisions keep their blob references until pruned.
+     */
+    private BlobRef swapContent(Document document, SigningTicket ticket, SignedContent content) {
+
+        BlobRef blob;
+        try {
+            blob = blobStore.put(content.stagedFile(), content.sha256(), content.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store signed document", e);
+        }
+
+        boolean legacyFile = document.getContentHash() == null;
+        Path previousPath = Paths.get(document.getFilePath());
+
+        // Reference changes roll back with the transaction on a lost race
+        documentRevisionService.commit(
+                document, ticket.baseRevision(), blob, ticket.signerEmail());
+
+        if (legacyFile) {
+            // Legacy file outside the blob store: remove once committed
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            try {
+                                Files.deleteIfExists(previousPath);
+                            } catch (IOException ignored) {
+                                // orphaned legacy file is harmless
+                            }
+                        }
+                    });
+        }
+
+        return blob;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // leftover staging file is harmless
+        }
+    }
+
+    private Placement place(PageGeometry page, SignaturePlacement placement) {
+        return Placement.compute(page,
+                placement.getXPercent(),
+                placement.getYPercent(),
+                placement.getWidthPercent(),
+                placement.getHeightPercent());
+    }
+
+    private void checkPage(Integer page, int pageCount) {
+
+        if (page == null || page < 1 || page > pageCount) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be between 1 and " + pageCount);
+        }
+    }
+
+    private void validatePositions(List<SignaturePlacement> placements) {
+
+        if (placements.size() > maxPlacements) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxPlacements + " placements per request");
+        }
+
+        for (SignaturePlacement placement : placements) {
+
+            if (!isFraction(placement.getXPercent()) || !isFraction(placement.getYPercent())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Signature position must be within the page");
+            }
+
+            if (!isFraction(placement.getWidthPercent()) || placement.getWidthPercent() == 0
+                    || !isFraction(placement.getHeightPercent()) || placement.getHeightPercent() == 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Signature size must be within the page");
+            }
+        }
+    }
+
+    private boolean isFraction(Double value) {
+        return value != null && value >= 0 && value <= 1;
+    }
+
+    private void checkTurn(SignerStatus status) {
+
+        if (status == SignerStatus.SIGNED)
+            throw new RuntimeException("You already signed this document");
+
+        if (status != SignerStatus.PENDING)
+            throw new RuntimeException("Please wait for your turn to sign");
+    }
+}
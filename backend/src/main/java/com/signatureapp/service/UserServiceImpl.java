@@ -2,6 +2,7 @@ package com.signatureapp.service;
 
 import com.signatureapp.dto.RegisterRequest;
 import com.signatureapp.dto.UserResponse;
+import com.signatureapp.model.Emails;
 import com.signatureapp.model.User;
 import com.signatureapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,15 +19,17 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponse register(RegisterRequest request) {
 
+        String email = Emails.canonical(request.getEmail());
+
         // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Email already registered");
         }
 
         // Create User entity with encrypted password
         User user = User.builder()
                 .name(request.getName())
-                .email(request.getEmail())
+                .email(email)
                 .password(passwordEncoder.encode(request.getPassword()))
                 .build();
 
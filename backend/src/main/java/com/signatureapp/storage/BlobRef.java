@@ -0,0 +1,13 @@
+package com.signatureapp.storage;
+
+import java.nio.file.Path;
+
+/**
+ * A referenced piece of content in the blob store.
+ *
+ * @param sha256 Hex SHA-256 of the content (the blob key)
+ * @param size   Content length in bytes
+ * @param path   Location of the immutable file on disk
+ */
+public record BlobRef(String sha256, long size, Path path) {
+}
@@ -0,0 +1,51 @@
+package com.signatureapp.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed, reference-counted file storage.
+ *
+ * Content is immutable once stored and keyed by its SHA-256,
+ * so identical files are kept once. Reference changes join the
+ * caller's transaction; bytes are freed asynchronously after
+ * the last reference is released.
+ */
+public interface BlobStore {
+
+    /**
+     * Create an empty file on the same filesystem as the store.
+     * Content written there can later be moved in with {@link #put}.
+     */
+    Path createStagingFile() throws IOException;
+
+    /**
+     * Add a staged file under its hash and take one reference.
+     * If the content already exists the staged file is discarded.
+     *
+     * @param stagedFile File created by {@link #createStagingFile()}
+     * @param sha256     Hex SHA-256 of the staged content
+     * @param size       Content length in bytes
+     */
+    BlobRef put(Path stagedFile, String sha256, long size) throws IOException;
+
+    /**
+     * Take one more reference on content that is already stored.
+     * No bytes are read or written.
+     *
+     * @return the blob, or empty if the hash is unknown
+     */
+    Optional<BlobRef> retain(String sha256);
+
+    /**
+     * Drop one reference. The content is deleted once no
+     * references remain and the grace period has passed.
+     */
+    void release(String sha256);
+
+    /**
+     * Location of the file holding the given content.
+     */
+    Path resolve(String sha256);
+}
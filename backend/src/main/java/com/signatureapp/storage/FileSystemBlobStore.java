@@ -0,0 +1,214 @@
+package com.signatureapp.storage;
+
+import com.signatureapp.repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Blob store on the local filesystem.
+ *
+ * Layout under {@code storage.root}:
+ * <pre>
+ *   blobs/ab/cd/abcd…   immutable content, sharded by hash prefix
+ *   staging/            in-flight writes, moved into blobs/ on put
+ * </pre>
+ * Reference counts live in the {@code blobs} table.
+ */
+@Slf4j
+@Component
+public class FileSystemBlobStore implements BlobStore {
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public FileSystemBlobStore(StoredBlobRepository storedBlobRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager) {
+
+        this.storedBlobRepository = storedBlobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Value("${storage.root:${user.home}/signature-app-uploads}")
+    private String root;
+
+    /**
+     * Released content is kept this long before its bytes are
+     * deleted, so re-uploads shortly after a delete are free.
+     */
+    @Value("${storage.gc.grace-minutes:60}")
+    private long graceMinutes;
+
+    /* =========================================================
+       PATHS
+    ========================================================= */
+
+    private Path blobsDir() {
+        return Paths.get(root, "blobs");
+    }
+
+    private Path stagingDir() {
+        return Paths.get(root, "staging");
+    }
+
+    @Override
+    public Path resolve(String sha256) {
+        return blobsDir()
+                .resolve(sha256.substring(0, 2))
+                .resolve(sha256.substring(2, 4))
+                .resolve(sha256);
+    }
+
+    /* =========================================================
+       STAGING
+    ========================================================= */
+
+    @Override
+    public Path createStagingFile() throws IOException {
+        Files.createDirectories(stagingDir());
+        return Files.createTempFile(stagingDir(), "upload-", ".tmp");
+    }
+
+    /* =========================================================
+       PUT
+       Row first: the upsert locks the row, so a concurrent garbage
+       collection of the same hash has either finished (file gone,
+       we move ours in) or waits for us.
+       A file moved in by a transaction that then rolls back has
+       no row; it is removed again after the rollback (see
+       removeOrphan). The per-hash advisory lock orders that
+       removal with the next put of the same content.
+    ========================================================= */
+
+    @Override
+    @Transactional
+    public BlobRef put(Path stagedFile, String sha256, long size) throws IOException {
+
+        lockHash(sha256);
+
+        storedBlobRepository.upsertReference(sha256, size, LocalDateTime.now());
+
+        Path target = resolve(sha256);
+
+        if (Files.exists(target)) {
+            Files.deleteIfExists(stagedFile);
+        } else {
+            Files.createDirectories(target.getParent());
+            Files.move(stagedFile, target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status == STATUS_ROLLED_BACK) {
+                                removeOrphan(sha256, target);
+                            }
+                        }
+                    });
+        }
+
+        return new BlobRef(sha256, size, target);
+    }
+
+    private void lockHash(String sha256) {
+        jdbcTemplate.queryForList(
+                "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))", sha256);
+    }
+
+    /**
+     * Deletes content whose row went away with a rolled-back put,
+     * unless a put committed since has taken it over.
+     */
+    private void removeOrphan(String sha256, Path target) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+
+                lockHash(sha256);
+
+                if (!storedBlobRepository.existsById(sha256)) {
+                    try {
+                        Files.deleteIfExists(target);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not remove orphaned blob {}: {}", sha256, e.getMessage());
+        }
+    }
+
+    /* =========================================================
+       RETAIN / RELEASE
+    ========================================================= */
+
+    @Override
+    @Transactional
+    public Optional<BlobRef> retain(String sha256) {
+
+        if (storedBlobRepository.addReference(sha256) == 0) {
+            return Optional.empty();
+        }
+
+        Path target = resolve(sha256);
+
+        if (!Files.exists(target)) {
+            // Row without content: let the caller store it again
+            storedBlobRepository.dropReference(sha256, LocalDateTime.now());
+            return Optional.empty();
+        }
+
+        return storedBlobRepository.findById(sha256)
+                .map(blob -> new BlobRef(sha256, blob.getSize(), target));
+    }
+
+    @Override
+    @Transactional
+    public void release(String sha256) {
+        storedBlobRepository.dropReference(sha256, LocalDateTime.now());
+    }
+
+    /* =========================================================
+       GARBAGE COLLECTION
+       Files are deleted while the deleted rows are still locked,
+       so a concurrent put of the same content cannot lose its file.
+    ========================================================= */
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${storage.gc.interval-ms:600000}")
+    public void collectGarbage() {
+
+        List<String> hashes = storedBlobRepository.deleteUnreferenced(
+                LocalDateTime.now().minusMinutes(graceMinutes), 500);
+
+        for (String hash : hashes) {
+            try {
+                Files.deleteIfExists(resolve(hash));
+            } catch (IOException e) {
+                log.warn("Could not delete blob {}: {}", hash, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.signatureapp.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class Hashing {
+
+    private Hashing() {
+        // prevent instantiation
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /* =========================================================
+       HASH A STREAM WITHOUT BUFFERING IT
+    ========================================================= */
+    public static String sha256Hex(InputStream in) throws IOException {
+
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+
+        return hex(digest);
+    }
+}
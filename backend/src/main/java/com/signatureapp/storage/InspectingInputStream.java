@@ -0,0 +1,125 @@
+package com.signatureapp.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Pass-through stream that inspects content while it is copied:
+ *  - SHA-256 digest
+ *  - byte count, with a hard size limit
+ *  - the first and last few bytes (for format checks)
+ *
+ * Memory use is constant: only the head and a tail ring buffer
+ * are kept, whatever the size of the content.
+ */
+public class InspectingInputStream extends FilterInputStream {
+
+    private final MessageDigest digest = Hashing.sha256();
+    private final long maxBytes;
+
+    private final byte[] head;
+    private final byte[] tail;
+    private int headLength;
+    private long tailPosition;
+
+    private long count;
+
+    public InspectingInputStream(InputStream in, long maxBytes, int headSize, int tailSize) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.head = new byte[headSize];
+        this.tail = new byte[tailSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            inspect(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            inspect(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Every byte has to pass through the digest
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void inspect(byte[] b, int off, int len) throws IOException {
+
+        count += len;
+        if (count > maxBytes) {
+            throw new UploadTooLargeException(maxBytes);
+        }
+
+        digest.update(b, off, len);
+
+        if (headLength < head.length) {
+            int n = Math.min(len, head.length - headLength);
+            System.arraycopy(b, off, head, headLength, n);
+            headLength += n;
+        }
+
+        // Ring buffer of the last tail.length bytes
+        int start = Math.max(off, off + len - tail.length);
+        for (int i = start; i < off + len; i++) {
+            tail[(int) (tailPosition % tail.length)] = b[i];
+            tailPosition++;
+        }
+    }
+
+    /* =========================================================
+       RESULTS (valid once the stream is fully read)
+    ========================================================= */
+
+    public String sha256Hex() {
+        return Hashing.hex(digest);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public byte[] getHead() {
+        return Arrays.copyOf(head, headLength);
+    }
+
+    public byte[] getTail() {
+
+        int length = (int) Math.min(tailPosition, tail.length);
+        byte[] result = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = tail[(int) ((tailPosition - length + i) % tail.length)];
+        }
+
+        return result;
+    }
+}
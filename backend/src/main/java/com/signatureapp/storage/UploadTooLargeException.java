@@ -0,0 +1,13 @@
+package com.signatureapp.storage;
+
+import java.io.IOException;
+
+/**
+ * Thrown while streaming an upload once it exceeds the size limit.
+ */
+public class UploadTooLargeException extends IOException {
+
+    public UploadTooLargeException(long maxBytes) {
+        super("Upload exceeds the limit of " + maxBytes + " bytes");
+    }
+}
@@ -1,9 +1,8 @@
 import { useEffect, useState, useRef } from "react";
-import { Document, Page, pdfjs } from "react-pdf";
 import api from "../services/api";
 
-pdfjs.GlobalWorkerOptions.workerSrc =
-  `//cdnjs.cloudflare.com/ajax/libs/pdf.js/${pdfjs.version}/pdf.worker.min.js`;
+// Server-rendered page image resolution (sharp at 850px width)
+const PREVIEW_DPI = 144;
 
 export default function PdfPreview({ documentId, signatureData, onClose }) {
 
@@ -14,6 +13,9 @@ export default function PdfPreview({ documentId, signatureData, onClose }) {
 
   const [auditLogs, setAuditLogs] = useState([]);
   const [auditPage, setAuditPage] = useState(0);
+  // Keyset pages: cursor that starts each visited page (first = none)
+  const [auditCursors, setAuditCursors] = useState([null]);
+  const [auditNext, setAuditNext] = useState(null);
 
   const wrapperRef = useRef(null);
   const scrollRef = useRef(null);
@@ -35,16 +37,17 @@ export default function PdfPreview({ documentId, signatureData, onClose }) {
     };
   }, [pdfUrl]);
 
+  // 🔥 Only the page image is fetched (ETag-cached), not the whole PDF
   const loadPdf = async () => {
     try {
       setLoading(true);
 
       const res = await api.get(
-        `/documents/${documentId}/view?t=${Date.now()}`,
+        `/documents/${documentId}/pages/1/preview?dpi=${PREVIEW_DPI}`,
         { responseType: "blob" }
       );
 
-      const blob = new Blob([res.data], { type: "application/pdf" });
+      const blob = new Blob([res.data], { type: "image/png" });
 
       if (pdfUrl) URL.revokeObjectURL(pdfUrl); // cleanup old URL
 
@@ -61,10 +64,14 @@ export default function PdfPreview({ documentId, signatureData, onClose }) {
   /* ================= LOAD AUDIT ================= */
   const loadAudit = async () => {
     try {
-      const res = await api.get(
-        `/audit/${documentId}?page=${auditPage}&size=5`
-      );
-      setAuditLogs(res.data.content || []);
+      const res = await api.get(`/audit/${documentId}`, {
+        params: {
+          after: auditCursors[auditPage] || undefined,
+          limit: 5,
+        },
+      });
+      setAuditLogs(res.data.items || []);
+      setAuditNext(res.data.nextCursor);
     } catch (err) {
       console.error(err);
     }
@@ -114,24 +121,29 @@ export default function PdfPreview({ documentId, signatureData, onClose }) {
       ctx.fillStyle = signatureData.color || "#000";
       ctx.fillText(name, 10, fontSize);
 
-      const signatureImage = canvas.toDataURL("image/png");
+      // 🔥 Raw PNG bytes: no base64 data URL (≈33% smaller)
+      const signatureImage = await new Promise((resolve) =>
+        canvas.toBlob(resolve, "image/png")
+      );
 
-      const pdfCanvas = wrapperRef.current?.querySelector("canvas");
-      if (!pdfCanvas) return alert("PDF not ready");
+      const pageImage = wrapperRef.current?.querySelector("img");
+      if (!pageImage) return alert("PDF not ready");
 
-      const displayWidth = pdfCanvas.offsetWidth;
-      const displayHeight = pdfCanvas.offsetHeight;
+      const displayWidth = pageImage.offsetWidth;
+      const displayHeight = pageImage.offsetHeight;
 
       const xPercent = position.x / displayWidth;
       const yPercent = position.y / displayHeight;
 
-      await api.post(`/documents/${documentId}/sign`, {
-        signatureImage,
-        xPercent,
-        yPercent,
-        widthPercent: 0.25,
-        heightPercent: 0.08,
-        page: 1,
+      await api.post(`/documents/${documentId}/sign`, signatureImage, {
+        params: {
+          xPercent,
+          yPercent,
+          widthPercent: 0.25,
+          heightPercent: 0.08,
+          page: 1,
+        },
+        headers: { "Content-Type": "image/png" },
       });
 
       setIsSigned(true);
@@ -188,9 +200,14 @@ export default function PdfPreview({ documentId, signatureData, onClose }) {
                 onDragOver={allowDrop}
               >
                 <div style={pdfScrollArea} ref={scrollRef}>
-                  <Document file={pdfUrl} key={pdfUrl}>
-                    <Page pageNumber={1} width={850} />
-                  </Document>
+                  <img
+                    src={pdfUrl}
+                    key={pdfUrl}
+                    width={850}
+                    alt="Page 1"
+                    draggable={false}
+                    style={{ height: "auto", alignSelf: "flex-start" }}
+                  />
                 </div>
 
                 {position && !isSigned && (
@@ -275,7 +292,15 @@ export default function PdfPreview({ documentId, signatureData, onClose }) {
 
             <div style={{ display: "flex", justifyContent: "space-between", marginTop: 10 }}>
               <button onClick={() => setAuditPage(p => Math.max(p - 1, 0))}>◀</button>
-              <button onClick={() => setAuditPage(p => p + 1)}>▶</button>
+              <button
+                disabled={!auditNext}
+                onClick={() => {
+                  setAuditCursors(c => [...c.slice(0, auditPage + 1), auditNext]);
+                  setAuditPage(p => p + 1);
+                }}
+              >
+                ▶
+              </button>
             </div>
 
           </div>
@@ -8,6 +8,7 @@ export default function Documents() {
   const navigate = useNavigate();
 
   const [documents, setDocuments] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
 
   const [filter, setFilter] = useState("ALL");
@@ -18,11 +19,20 @@ export default function Documents() {
   const [signatureData, setSignatureData] = useState(null);
 
   /* ========================= LOAD DOCUMENTS ========================= */
-  const loadDocuments = () => {
+  // Keyset pages: pass the previous page's cursor to continue
+  const loadDocuments = (cursor = null) => {
     api
-      .get("/documents")
+      .get("/documents", {
+        params: {
+          cursor: cursor || undefined,
+          status: filter === "ALL" ? undefined : filter,
+        },
+      })
       .then((res) => {
-        setDocuments(res.data);
+        setDocuments((current) =>
+          cursor ? [...current, ...res.data.items] : res.data.items
+        );
+        setNextCursor(res.data.nextCursor);
         setLoading(false);
       })
       .catch((err) => {
@@ -33,7 +43,7 @@ export default function Documents() {
 
   useEffect(() => {
     loadDocuments();
-  }, []);
+  }, [filter]);
 
   /* ========================= DELETE ========================= */
   const deleteDocument = async (docId) => {
@@ -57,13 +67,10 @@ export default function Documents() {
   };
 
   /* ========================= FILTER + SEARCH LOGIC ========================= */
-  const filteredDocuments = documents
-    .filter((doc) =>
-      filter === "ALL" ? true : doc.status === filter
-    )
-    .filter((doc) =>
-      doc.fileName.toLowerCase().includes(search.toLowerCase())
-    );
+  // Status is filtered by the server; search applies to loaded pages
+  const filteredDocuments = documents.filter((doc) =>
+    doc.fileName.toLowerCase().includes(search.toLowerCase())
+  );
 
   if (loading) {
     return (
@@ -154,6 +161,22 @@ export default function Documents() {
                   : "⏳ Waiting for signers"}
               </p>
 
+              {/* Signer progress comes with the listing page */}
+              <ol style={styles.signerList}>
+                {(doc.signers || []).map((signer) => (
+                  <li key={signer.signingOrder} style={styles.signerItem}>
+                    {signer.status === "SIGNED"
+                      ? "✔"
+                      : signer.status === "PENDING"
+                      ? "✍"
+                      : "⏳"}{" "}
+                    {signer.signerEmail}
+                    {signer.signedAt &&
+                      ` · ${new Date(signer.signedAt).toLocaleDateString()}`}
+                  </li>
+                ))}
+              </ol>
+
               <div style={styles.actions}>
                 <button
                   style={styles.previewBtn}
@@ -181,6 +204,15 @@ export default function Documents() {
             </div>
           ))}
         </div>
+
+        {nextCursor && (
+          <button
+            style={styles.loadMoreBtn}
+            onClick={() => loadDocuments(nextCursor)}
+          >
+            Load more
+          </button>
+        )}
       </div>
 
       {/* PREVIEW */}
@@ -335,4 +367,24 @@ const styles = {
     borderRadius: "6px",
     cursor: "pointer",
   },
-};
\ No newline at end of file
+
+  signerList: {
+    margin: "0 0 12px",
+    paddingLeft: "18px",
+    color: "#94a3b8",
+    fontSize: "13px",
+  },
+  signerItem: {
+    marginBottom: "2px",
+  },
+  loadMoreBtn: {
+    display: "block",
+    margin: "24px auto 0",
+    background: "#334155",
+    border: "none",
+    color: "#fff",
+    padding: "10px 20px",
+    borderRadius: "6px",
+    cursor: "pointer",
+  },
+};
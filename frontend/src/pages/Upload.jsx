@@ -37,26 +37,21 @@ export default function Upload() {
       return;
     }
 
-    const formData = new FormData();
-    formData.append("file", file);
-
-    formData.append(
-      "data",
-      new Blob(
-        [JSON.stringify({ signerEmails: filteredSigners })],
-        { type: "application/json" }
-      )
-    );
-
     try {
       const token = localStorage.getItem("token");
 
+      // Raw PDF body: streamed once by the server, no multipart buffering
       await axios.post(
         "http://localhost:8080/api/documents/upload",
-        formData,
+        file,
         {
+          params: {
+            fileName: file.name,
+            signers: filteredSigners.join(",")
+          },
           headers: {
-            Authorization: `Bearer ${token}`
+            Authorization: `Bearer ${token}`,
+            "Content-Type": "application/pdf"
           }
         }
       );